@@ -0,0 +1,72 @@
+package com.codeoftheweb.salvo.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/* Compara dos resultados de JMH en JSON (el de un commit anterior y el actual) benchmark por
+ * benchmark y con los mismos parametros. Sale con error si alguno empeora mas que el umbral.
+ * Uso: BenchmarkDiff <baseline.json> <results.json> [umbral en %, 10 por defecto] */
+public final class BenchmarkDiff {
+
+    private BenchmarkDiff() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkDiff <baseline.json> <results.json> [threshold %]");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double score = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-80s %12s %12.3f %-10s new%n", entry.getKey(), "-", score, unit);
+                continue;
+            }
+            double previous = before.path("primaryMetric").path("score").asDouble();
+            double change = previous == 0 ? 0 : (score - previous) / previous * 100;
+            // en thrpt mas es mejor; en avgt, sample y ss mas es peor
+            double worse = "thrpt".equals(after.path("mode").asText()) ? -change : change;
+            boolean regression = worse > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-80s %12.3f %12.3f %-10s %+7.1f%%%s%n", entry.getKey(), previous, score, unit, change,
+                    regression ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) more than %.0f%% worse than the baseline%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    // benchmark (con sus parametros) -> resultado
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.codeoftheweb.salvo.benchmark.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
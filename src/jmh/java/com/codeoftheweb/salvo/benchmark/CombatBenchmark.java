@@ -0,0 +1,58 @@
+package com.codeoftheweb.salvo.benchmark;
+
+import com.codeoftheweb.salvo.engine.CombatState;
+import com.codeoftheweb.salvo.engine.GameState;
+import com.codeoftheweb.salvo.models.Game;
+import com.codeoftheweb.salvo.models.GamePlayer;
+import com.codeoftheweb.salvo.models.Salvo;
+import org.openjdk.jmh.annotations.*;
+
+/* Motor del juego: hits de todos los turnos (lo que era getAllHits), un salvo nuevo sobre el
+ * estado ya calculado y el estado del juego con el danio total (getGameState / getTotal). */
+@State(Scope.Benchmark)
+public class CombatBenchmark {
+
+    @Param({"1", "10", "20"})
+    public int turns;
+
+    @Param({"2", "5"})
+    public int fleetSize;
+
+    private GamePlayer self;
+    private GamePlayer opponent;
+    private CombatState selfState;
+    private CombatState opponentState;
+    private Salvo nextSalvo;
+
+    @Setup
+    public void setUp() {
+        Game game = Fixtures.game(1, turns, fleetSize);
+        self = Fixtures.seat(game, 0);
+        opponent = Fixtures.seat(game, 1);
+        selfState = CombatState.of(self, opponent);
+        opponentState = CombatState.of(opponent, self);
+        nextSalvo = Fixtures.salvo(turns + 1);
+    }
+
+    // todos los turnos desde las entidades: carga de un game en el cache
+    @Benchmark
+    public CombatState resolveAllTurns() {
+        return CombatState.of(self, opponent);
+    }
+
+    // solo el turno nuevo: lo que hace cada salvo aceptado
+    @Benchmark
+    public CombatState fireNextSalvo() {
+        return selfState.fire(nextSalvo);
+    }
+
+    @Benchmark
+    public GameState gameState() {
+        return CombatState.stateOf(selfState, opponentState);
+    }
+
+    @Benchmark
+    public int damageDealt() {
+        return selfState.getDamageDealt();
+    }
+}
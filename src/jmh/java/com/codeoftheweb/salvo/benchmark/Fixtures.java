@@ -0,0 +1,123 @@
+package com.codeoftheweb.salvo.benchmark;
+
+import com.codeoftheweb.salvo.engine.Bitboard;
+import com.codeoftheweb.salvo.engine.ShipType;
+import com.codeoftheweb.salvo.models.*;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+/* Datos de los benchmarks: games armados en memoria (entidades transitorias, sin base),
+ * siempre iguales para los mismos parametros, asi dos corridas miden lo mismo. */
+final class Fixtures {
+
+    static final Date CREATED = new Date(1_569_888_000_000L); // 2019-10-01
+    static final int SALVO_SIZE = 5;
+    static final int MAX_TURNS = Bitboard.CELLS / SALVO_SIZE;
+
+    // orden fijo de disparos sobre la grilla: mezcla aciertos y agua
+    private static final int[] SHOTS = shuffledCells(42);
+
+    private Fixtures() {
+    }
+
+    /* ======================= Games ======================= */
+
+    /* game con dos gamePlayers, cada uno con los primeros fleetSize tipos de ShipType
+     * y turns salvos de SALVO_SIZE disparos */
+    static Game game(long id, int turns, int fleetSize) {
+        Game game = new Game(CREATED);
+        game.setId(id);
+        for (int seat = 0; seat < 2; seat++) {
+            Player player = new Player("player-" + (id * 2 + seat) + "@bench", "x");
+            player.setId(id * 2 + seat);
+            GamePlayer gamePlayer = new GamePlayer(CREATED, game, player);
+            gamePlayer.setId(id * 2 + seat);
+            gamePlayer.setShips(new LinkedHashSet<>());
+            gamePlayer.setSalvos(new LinkedHashSet<>());
+            game.addGamePlayer(gamePlayer);
+
+            for (Ship ship : fleet(fleetSize)) {
+                gamePlayer.addShip(ship);
+            }
+            for (int turn = 1; turn <= Math.min(turns, MAX_TURNS); turn++) {
+                gamePlayer.addSalvo(salvo(turn));
+            }
+        }
+        return game;
+    }
+
+    // ships acostados en filas alternas (A, C, E...) desde la columna 1
+    static List<Ship> fleet(int fleetSize) {
+        ShipType[] types = ShipType.values();
+        List<Ship> ships = new ArrayList<>(fleetSize);
+        for (int i = 0; i < Math.min(fleetSize, types.length); i++) {
+            Set<String> cells = new LinkedHashSet<>();
+            for (int column = 0; column < types[i].getLength(); column++) {
+                cells.add(Bitboard.cell(i * 2 * Bitboard.SIZE + column));
+            }
+            ships.add(new Ship(null, types[i].getName(), cells));
+        }
+        return ships;
+    }
+
+    static Salvo salvo(int turn) {
+        Set<String> cells = new LinkedHashSet<>();
+        int from = ((turn - 1) % MAX_TURNS) * SALVO_SIZE;
+        for (int i = from; i < from + SALVO_SIZE; i++) {
+            cells.add(Bitboard.cell(SHOTS[i]));
+        }
+        return new Salvo(turn, null, cells);
+    }
+
+    static GamePlayer seat(Game game, int index) {
+        return new ArrayList<>(game.getGamePlayers()).get(index);
+    }
+
+    /* ======================= Players ======================= */
+
+    // player con games scores: ganados, perdidos y empatados en partes iguales
+    static Player playerWithScores(long id, int games) {
+        Player player = new Player("player-" + id + "@bench", "x");
+        player.setId(id);
+        Set<Score> scores = new LinkedHashSet<>();
+        for (int i = 0; i < games; i++) {
+            scores.add(new Score(null, player, (i % 3) * 0.5, CREATED));
+        }
+        set(player, "scores", scores);
+        return player;
+    }
+
+    /* ======================= Auxiliares ======================= */
+
+    // JSON como lo escribe la API en el perfil prod (mismos defaults que el ObjectMapper de Spring Boot, sin indentar)
+    static ObjectWriter writer() {
+        return Jackson2ObjectMapperBuilder.json().build().writer();
+    }
+
+    // asigna un campo privado (colecciones que las entidades no exponen con un setter)
+    static void set(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int[] shuffledCells(long seed) {
+        List<Integer> cells = new ArrayList<>(Bitboard.CELLS);
+        for (int i = 0; i < Bitboard.CELLS; i++) {
+            cells.add(i);
+        }
+        Collections.shuffle(cells, new Random(seed));
+        int[] shots = new int[Bitboard.CELLS];
+        for (int i = 0; i < shots.length; i++) {
+            shots[i] = cells.get(i);
+        }
+        return shots;
+    }
+}
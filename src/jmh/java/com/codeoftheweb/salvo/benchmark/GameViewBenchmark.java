@@ -0,0 +1,59 @@
+package com.codeoftheweb.salvo.benchmark;
+
+import com.codeoftheweb.salvo.controller.SalvoController;
+import com.codeoftheweb.salvo.dto.GameViewDTO;
+import com.codeoftheweb.salvo.models.Game;
+import com.codeoftheweb.salvo.services.HotGame;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+/* game_view: la foto del game (HotGame) desde las entidades, el GameViewDTO desde la foto
+ * y el JSON de la respuesta. */
+@State(Scope.Benchmark)
+public class GameViewBenchmark {
+
+    @Param({"1", "10", "20"})
+    public int turns;
+
+    @Param({"2", "5"})
+    public int fleetSize;
+
+    private final SalvoController controller = new SalvoController();
+    private final ObjectWriter writer = Fixtures.writer();
+
+    private Game game;
+    private HotGame hotGame;
+    private HotGame.Seat seat;
+    private GameViewDTO gameView;
+
+    @Setup
+    public void setUp() {
+        game = Fixtures.game(1, turns, fleetSize);
+        hotGame = HotGame.of(game, 1);
+        seat = hotGame.getSeats().get(0);
+        gameView = controller.makeGameViewDTO(hotGame, seat);
+    }
+
+    // carga de un game que no esta en el cache (sin la consulta a la base)
+    @Benchmark
+    public HotGame loadHotGame() {
+        return HotGame.of(game, 1);
+    }
+
+    @Benchmark
+    public GameViewDTO makeGameViewDTO() {
+        return controller.makeGameViewDTO(hotGame, seat);
+    }
+
+    @Benchmark
+    public byte[] serializeGameView() throws JsonProcessingException {
+        return writer.writeValueAsBytes(gameView);
+    }
+
+    // lo que hace una lectura de game_view sobre un game del cache
+    @Benchmark
+    public byte[] gameViewResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(controller.makeGameViewDTO(hotGame, seat));
+    }
+}
@@ -0,0 +1,86 @@
+package com.codeoftheweb.salvo.benchmark;
+
+import com.codeoftheweb.salvo.dto.LeaderBoardDTO;
+import com.codeoftheweb.salvo.models.Player;
+import com.codeoftheweb.salvo.repositories.ArchivedGameRepository;
+import com.codeoftheweb.salvo.repositories.PlayerRepository;
+import com.codeoftheweb.salvo.services.LeaderBoardService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/* Tabla de clasificaciones: el total de un player recorriendo sus scores (Player.getTotalScore),
+ * la carga de la tabla materializada, un score nuevo sobre la tabla, y la primera pagina en JSON.
+ * games: scores por player; la tabla tiene 10 players por cada game de un player. */
+@State(Scope.Benchmark)
+public class LeaderBoardBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10", "100", "1000"})
+    public int games;
+
+    private final ObjectWriter writer = Fixtures.writer();
+
+    private Player player;
+    private LeaderBoardService leaderBoard;
+    private long nextPlayer;
+
+    @Setup
+    public void setUp() {
+        player = Fixtures.playerWithScores(1, games);
+
+        // las consultas agregadas de la carga, respondidas desde memoria
+        List<Object[]> standings = new ArrayList<>(games * 10);
+        for (long id = 1; id <= games * 10; id++) {
+            standings.add(new Object[]{id, "player-" + id + "@bench", id % 7, id % 5, id % 3});
+        }
+        leaderBoard = new LeaderBoardService();
+        Fixtures.set(leaderBoard, "playerRepository", repository(PlayerRepository.class, standings));
+        Fixtures.set(leaderBoard, "archivedGameRepository",
+                repository(ArchivedGameRepository.class, Collections.<Object[]>emptyList()));
+        leaderBoard.load();
+        nextPlayer = 1;
+    }
+
+    @Benchmark
+    public double playerTotalScore() {
+        return player.getTotalScore();
+    }
+
+    @Benchmark
+    public LeaderBoardService loadLeaderBoard() {
+        leaderBoard.load();
+        return leaderBoard;
+    }
+
+    // un game terminado: un score de uno de los players de la tabla (lo reordena)
+    @Benchmark
+    public LeaderBoardService.Standing addScore() {
+        long playerId = nextPlayer;
+        nextPlayer = nextPlayer % (games * 10) + 1;
+        leaderBoard.addScore(playerId, null, (playerId % 3) * 0.5);
+        return leaderBoard.getStanding(playerId);
+    }
+
+    @Benchmark
+    public byte[] serializeTopPage() throws JsonProcessingException {
+        List<LeaderBoardDTO> page = new ArrayList<>(PAGE_SIZE);
+        for (LeaderBoardService.Standing standing : leaderBoard.getTop(0, PAGE_SIZE)) {
+            page.add(new LeaderBoardDTO(standing, leaderBoard.getRank(standing), null));
+        }
+        return writer.writeValueAsBytes(page);
+    }
+
+    // repositorio en el que toda consulta que devuelve una lista devuelve rows
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, List<Object[]> rows) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> List.class.equals(method.getReturnType()) ? rows : null);
+    }
+}
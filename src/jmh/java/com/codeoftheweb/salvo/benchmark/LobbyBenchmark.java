@@ -0,0 +1,66 @@
+package com.codeoftheweb.salvo.benchmark;
+
+import com.codeoftheweb.salvo.controller.SalvoController;
+import com.codeoftheweb.salvo.dto.GameDTO;
+import com.codeoftheweb.salvo.repositories.LobbyRow;
+import com.codeoftheweb.salvo.repositories.LobbyScoreRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/* Lobby (/api/games): un GameDTO por game desde las filas de la consulta del lobby y el JSON
+ * de la pagina. Un tercio de los games esperando rival, un tercio en juego y un tercio terminados. */
+@State(Scope.Benchmark)
+public class LobbyBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int games;
+
+    private final SalvoController controller = new SalvoController();
+    private final ObjectWriter writer = Fixtures.writer();
+
+    private List<List<LobbyRow>> rows;
+    private List<List<LobbyScoreRow>> scoreRows;
+    private List<GameDTO> page;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(games);
+        scoreRows = new ArrayList<>(games);
+        for (long id = 1; id <= games; id++) {
+            List<LobbyRow> gameRows = new ArrayList<>(2);
+            gameRows.add(new LobbyRow(id, Fixtures.CREATED, id * 2, Fixtures.CREATED, id * 2, "player-" + id * 2 + "@bench"));
+            List<LobbyScoreRow> gameScores = Collections.emptyList();
+            if (id % 3 != 0) {
+                gameRows.add(new LobbyRow(id, Fixtures.CREATED, id * 2 + 1, Fixtures.CREATED, id * 2 + 1,
+                        "player-" + (id * 2 + 1) + "@bench"));
+            }
+            if (id % 3 == 2) {
+                gameScores = new ArrayList<>(2);
+                gameScores.add(new LobbyScoreRow(id, id * 2, 1, Fixtures.CREATED));
+                gameScores.add(new LobbyScoreRow(id, id * 2 + 1, 0, Fixtures.CREATED));
+            }
+            rows.add(gameRows);
+            scoreRows.add(gameScores);
+        }
+        page = makeGameDTOs();
+    }
+
+    @Benchmark
+    public List<GameDTO> makeGameDTOs() {
+        List<GameDTO> dtos = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            dtos.add(controller.makeGameDTO(rows.get(i), scoreRows.get(i)));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public byte[] serializeLobby() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,29 @@
+package com.codeoftheweb.salvo.benchmark;
+
+import com.codeoftheweb.salvo.engine.CombatState;
+import com.codeoftheweb.salvo.engine.Targeting;
+import com.codeoftheweb.salvo.models.Game;
+import org.openjdk.jmh.annotations.*;
+
+/* Punteria del bot: el proximo salvo por densidad de probabilidad, al principio del game (todo hunt)
+ * y con impactos abiertos (target). Con -prof gc tiene que dar 0 bytes por operacion. */
+@State(Scope.Thread)
+public class TargetingBenchmark {
+
+    @Param({"0", "5", "12"})
+    public int turns;
+
+    private CombatState state;
+    private final Targeting targeting = new Targeting();
+
+    @Setup
+    public void setUp() {
+        Game game = Fixtures.game(1, turns, 5);
+        state = CombatState.of(Fixtures.seat(game, 0), Fixtures.seat(game, 1));
+    }
+
+    @Benchmark
+    public int aim() {
+        return targeting.aim(state);
+    }
+}
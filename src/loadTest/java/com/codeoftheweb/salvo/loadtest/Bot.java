@@ -0,0 +1,206 @@
+package com.codeoftheweb.salvo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/* Un jugador simulado: se registra, entra, crea un game o se une al de su pareja, pone los ships
+ * y dispara un salvo por turno, consultando game_view (con If-None-Match) mientras espera al otro.
+ * Cada pedido se mide en Latencies por endpoint. */
+class Bot {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String SHIPS = "[{\"type\":\"Carrier\",\"locations\":[\"A1\",\"A2\",\"A3\",\"A4\",\"A5\"]},"
+            + "{\"type\":\"Battleship\",\"locations\":[\"C1\",\"C2\",\"C3\",\"C4\"]},"
+            + "{\"type\":\"Submarine\",\"locations\":[\"E1\",\"E2\",\"E3\"]},"
+            + "{\"type\":\"Destroyer\",\"locations\":[\"G1\",\"G2\",\"G3\"]},"
+            + "{\"type\":\"Patrol Boat\",\"locations\":[\"I1\",\"I2\"]}]";
+    private static final int SALVO_SIZE = 5;
+    private static final long GAME_TIMEOUT = TimeUnit.MINUTES.toNanos(5);
+
+    private final String baseUrl;
+    private final String email;
+    private final LoadTest.Options options;
+    private final Latencies latencies;
+    private final Random random;
+    private String cookie;
+
+    Bot(String baseUrl, String email, LoadTest.Options options, Latencies latencies, long seed) {
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.options = options;
+        this.latencies = latencies;
+        this.random = new Random(seed);
+    }
+
+    /* ======================= Flujo ======================= */
+
+    void signUp() throws IOException {
+        String form = "email=" + encode(email) + "&password=x";
+        request("POST", "/api/players", form, "application/x-www-form-urlencoded", null);
+        Response login = request("POST", "/api/login", "name=" + encode(email) + "&pwd=x",
+                "application/x-www-form-urlencoded", null);
+        expect(login, 200);
+    }
+
+    // crea un game y lo publica en gameId para la pareja
+    void host(CompletableFuture<Long> gameId) throws IOException {
+        Response created = request("POST", "/api/games", null, null, null);
+        expect(created, 201);
+        long gamePlayerId = JSON.readTree(created.body).path("gpid").asLong();
+        Response view = request("GET", "/api/game_view/" + gamePlayerId, null, null, null);
+        gameId.complete(JSON.readTree(view.body).path("id").asLong());
+        play(gamePlayerId);
+    }
+
+    // busca en el lobby y se une al game de la pareja
+    void join(CompletableFuture<Long> gameId) throws Exception {
+        long id = gameId.get(1, TimeUnit.MINUTES);
+        request("GET", "/api/games", null, null, null);
+        Response joined = request("POST", "/api/game/" + id + "/players", null, null, null);
+        expect(joined, 201);
+        play(JSON.readTree(joined.body).path("gpid").asLong());
+    }
+
+    private void play(long gamePlayerId) throws IOException {
+        expect(request("POST", "/api/games/players/" + gamePlayerId + "/ships", SHIPS, "application/json", null), 201);
+
+        List<Integer> cells = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            cells.add(i);
+        }
+        Collections.shuffle(cells, random);
+
+        String etag = null;
+        String state = null;
+        int turn = 0;
+        long deadline = System.nanoTime() + GAME_TIMEOUT;
+        while (System.nanoTime() < deadline) {
+            Response view = request("GET", "/api/game_view/" + gamePlayerId, null, null, etag);
+            if (view.status != 304) {
+                etag = view.etag;
+                state = JSON.readTree(view.body).path("gameState").asText();
+            }
+            if ("WON".equals(state) || "LOST".equals(state) || "TIE".equals(state)) {
+                return;
+            }
+            if ("PLAY".equals(state)) {
+                Response fired = request("POST", "/api/games/players/" + gamePlayerId + "/salvos",
+                        salvo(cells, turn + 1), "application/json", null);
+                if (fired.status == 403 && fired.body.contains("The game is over")) {
+                    // el salvo del oponente en el mismo turno termino el game: el game_view lo muestra
+                    continue;
+                }
+                expect(fired, 201);
+                turn++;
+                if (turn >= options.turns) {
+                    // largo del game alcanzado
+                    return;
+                }
+                continue;
+            }
+            sleep(options.pollMillis);
+        }
+        throw new IllegalStateException(email + ": game did not finish in time (state " + state + ")");
+    }
+
+    private static String salvo(List<Integer> cells, int turn) {
+        StringBuilder json = new StringBuilder("{\"salvoLocations\":[");
+        int from = ((turn - 1) * SALVO_SIZE) % cells.size();
+        for (int i = from; i < from + SALVO_SIZE; i++) {
+            int cell = cells.get(i);
+            json.append(i > from ? "," : "").append('"').append((char) ('A' + cell / 10)).append(cell % 10 + 1).append('"');
+        }
+        return json.append("]}").toString();
+    }
+
+    /* ======================= HTTP ======================= */
+
+    private Response request(String method, String path, String body, String contentType, String etag)
+            throws IOException {
+        long start = System.nanoTime();
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestMethod(method);
+        connection.setInstanceFollowRedirects(false);
+        if (cookie != null) {
+            connection.setRequestProperty("Cookie", cookie);
+        }
+        if (etag != null) {
+            connection.setRequestProperty("If-None-Match", etag);
+        }
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", contentType);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        String responseBody = read(status >= 400 ? connection.getErrorStream() : connection.getInputStream());
+        latencies.record(StatementCounter.endpoint(method, path.replaceAll("\\?.*", "")), status,
+                System.nanoTime() - start);
+
+        String setCookie = connection.getHeaderField("Set-Cookie");
+        if (setCookie != null) {
+            cookie = setCookie.split(";", 2)[0];
+        }
+        return new Response(status, responseBody, connection.getHeaderField("ETag"));
+    }
+
+    private static String read(InputStream in) throws IOException {
+        if (in == null) {
+            return "";
+        }
+        try (InputStream stream = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read; (read = stream.read(buffer)) != -1; ) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void expect(Response response, int status) {
+        if (response.status != status) {
+            throw new IllegalStateException(email + ": expected " + status + " but got " + response.status
+                    + " " + response.body);
+        }
+    }
+
+    private static String encode(String value) throws IOException {
+        return URLEncoder.encode(value, "UTF-8");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Response {
+
+        private final int status;
+        private final String body;
+        private final String etag;
+
+        Response(int status, String body, String etag) {
+            this.status = status;
+            this.body = body;
+            this.etag = etag;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.codeoftheweb.salvo.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* Tiempos de respuesta de los pedidos de todos los bots, por endpoint (en nanosegundos) */
+class Latencies {
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    void record(String endpoint, int status, long nanos) {
+        samples.computeIfAbsent(endpoint, key -> new Samples()).add(status, nanos);
+    }
+
+    // endpoint -> resumen, en orden alfabetico
+    Map<String, Summary> summarize() {
+        Map<String, Summary> summaries = new TreeMap<>();
+        samples.forEach((endpoint, endpointSamples) -> summaries.put(endpoint, endpointSamples.summarize()));
+        return summaries;
+    }
+
+    /* ======================= Samples ======================= */
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private int errors;
+
+        synchronized void add(int status, long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (status >= 500) {
+                errors++;
+            }
+        }
+
+        synchronized Summary summarize() {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new Summary(size, errors, percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                    sorted[size - 1]);
+        }
+
+        // nearest-rank
+        private static long percentile(long[] sorted, int percentile) {
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+
+    /* ======================= Summary ======================= */
+
+    static final class Summary {
+
+        private final int requests;
+        private final int errors;
+        private final long p50;
+        private final long p95;
+        private final long p99;
+        private final long max;
+
+        Summary(int requests, int errors, long p50, long p95, long p99, long max) {
+            this.requests = requests;
+            this.errors = errors;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        int getRequests() {
+            return requests;
+        }
+
+        int getErrors() {
+            return errors;
+        }
+
+        long getP50() {
+            return p50;
+        }
+
+        long getP95() {
+            return p95;
+        }
+
+        long getP99() {
+            return p99;
+        }
+
+        long getMax() {
+            return max;
+        }
+    }
+}
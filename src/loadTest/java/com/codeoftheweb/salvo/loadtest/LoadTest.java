@@ -0,0 +1,211 @@
+package com.codeoftheweb.salvo.loadtest;
+
+import com.codeoftheweb.salvo.SalvoApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.*;
+
+/* Prueba de carga: levanta la aplicacion en un puerto libre y la hace jugar por players bots
+ * (de a pares: uno crea el game y el otro se une), games seguidos por par, de turns salvos cada uno.
+ * Al final imprime por endpoint: pedidos, pedidos por segundo, p50/p95/p99 y sentencias SQL por pedido,
+ * y lo guarda en JSON; con --baseline=<json de otra corrida> muestra la diferencia.
+ *
+ * Opciones: --players=20 --games=1 --turns=10 --poll=100 (ms entre consultas a game_view)
+ *           --out=build/reports/loadtest/results.json --baseline=<archivo>
+ * El resto de los argumentos van a la aplicacion (por ejemplo --spring.profiles.active=prod). */
+public final class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        List<String> appArgs = new ArrayList<>(options.appArgs);
+        appArgs.add("--server.port=0");
+        appArgs.add("--spring.jmx.enabled=false");
+
+        int failures;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SalvoApplication.class,
+                LoadTestConfiguration.class).run(appArgs.toArray(new String[0]))) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            StatementCounter statementCounter = context.getBean(StatementCounter.class);
+            // lo que ejecuto la carga inicial no cuenta
+            statementCounter.reset();
+
+            Latencies latencies = new Latencies();
+            long start = System.nanoTime();
+            failures = run(baseUrl, options, latencies);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            ObjectNode report = report(options, seconds, latencies.summarize(), statementCounter);
+            print(report, options.baseline == null ? null : JSON.readTree(options.baseline));
+            options.out.getParentFile().mkdirs();
+            JSON.writeValue(options.out, report);
+            System.out.println("results: " + options.out.getPath());
+        }
+        if (failures > 0) {
+            System.err.println(failures + " bot(s) failed");
+            System.exit(1);
+        }
+    }
+
+    /* ======================= Bots ======================= */
+
+    // devuelve la cantidad de bots que fallaron
+    private static int run(String baseUrl, Options options, Latencies latencies) throws InterruptedException {
+        ExecutorService bots = Executors.newFixedThreadPool(options.players);
+        List<Future<?>> running = new ArrayList<>(options.players);
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        for (int pair = 0; pair < options.players / 2; pair++) {
+            List<CompletableFuture<Long>> games = new ArrayList<>(options.games);
+            for (int game = 0; game < options.games; game++) {
+                games.add(new CompletableFuture<>());
+            }
+            Bot host = new Bot(baseUrl, "bot-" + run + "-" + pair + "a@load", options, latencies, pair * 2);
+            Bot guest = new Bot(baseUrl, "bot-" + run + "-" + pair + "b@load", options, latencies, pair * 2 + 1);
+            running.add(bots.submit(() -> {
+                host.signUp();
+                for (CompletableFuture<Long> game : games) {
+                    host.host(game);
+                }
+                return null;
+            }));
+            running.add(bots.submit(() -> {
+                guest.signUp();
+                for (CompletableFuture<Long> game : games) {
+                    guest.join(game);
+                }
+                return null;
+            }));
+        }
+
+        int failures = 0;
+        for (Future<?> bot : running) {
+            try {
+                bot.get();
+            } catch (ExecutionException e) {
+                failures++;
+                System.err.println(e.getCause());
+            }
+        }
+        bots.shutdown();
+        return failures;
+    }
+
+    /* ======================= Reporte ======================= */
+
+    private static ObjectNode report(Options options, double seconds, Map<String, Latencies.Summary> summaries,
+                                     StatementCounter statementCounter) {
+        ObjectNode report = JSON.createObjectNode();
+        report.putObject("options")
+                .put("players", options.players)
+                .put("games", options.games)
+                .put("turns", options.turns)
+                .put("poll", options.pollMillis);
+        report.put("seconds", seconds);
+
+        ObjectNode endpoints = report.putObject("endpoints");
+        long total = 0;
+        for (Map.Entry<String, Latencies.Summary> entry : summaries.entrySet()) {
+            Latencies.Summary summary = entry.getValue();
+            long requests = statementCounter.getRequests(entry.getKey());
+            endpoints.putObject(entry.getKey())
+                    .put("requests", summary.getRequests())
+                    .put("errors", summary.getErrors())
+                    .put("throughput", summary.getRequests() / seconds)
+                    .put("p50", millis(summary.getP50()))
+                    .put("p95", millis(summary.getP95()))
+                    .put("p99", millis(summary.getP99()))
+                    .put("max", millis(summary.getMax()))
+                    .put("statements", requests == 0 ? 0 : statementCounter.getStatements(entry.getKey()) / (double) requests);
+            total += summary.getRequests();
+        }
+        report.put("requests", total);
+        report.put("throughput", total / seconds);
+        report.put("backgroundStatements", statementCounter.getStatements(StatementCounter.BACKGROUND));
+        return report;
+    }
+
+    private static void print(JsonNode report, JsonNode baseline) {
+        System.out.printf("%n%d players, %d game(s) per pair, %d turns: %d requests in %.1f s (%.0f req/s)%n%n",
+                report.path("options").path("players").asInt(), report.path("options").path("games").asInt(),
+                report.path("options").path("turns").asInt(), report.path("requests").asLong(),
+                report.path("seconds").asDouble(), report.path("throughput").asDouble());
+        System.out.printf("%-42s %8s %8s %9s %9s %9s %9s %8s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "stmt/req");
+        Iterator<Map.Entry<String, JsonNode>> endpoints = report.path("endpoints").fields();
+        while (endpoints.hasNext()) {
+            Map.Entry<String, JsonNode> entry = endpoints.next();
+            JsonNode endpoint = entry.getValue();
+            System.out.printf("%-42s %8d %8.1f %9.2f %9.2f %9.2f %9.2f %8.2f%n", entry.getKey(),
+                    endpoint.path("requests").asLong(), endpoint.path("throughput").asDouble(),
+                    endpoint.path("p50").asDouble(), endpoint.path("p95").asDouble(), endpoint.path("p99").asDouble(),
+                    endpoint.path("max").asDouble(), endpoint.path("statements").asDouble());
+            JsonNode before = baseline == null ? null : baseline.path("endpoints").get(entry.getKey());
+            if (before != null) {
+                System.out.printf("%-42s %8s %+7.0f%% %9s %+8.0f%% %+8.0f%% %9s %+8.2f%n", "  vs baseline", "",
+                        change(before.path("throughput"), endpoint.path("throughput")), "",
+                        change(before.path("p95"), endpoint.path("p95")), change(before.path("p99"), endpoint.path("p99")),
+                        "", endpoint.path("statements").asDouble() - before.path("statements").asDouble());
+            }
+        }
+        System.out.printf("%nstatements outside requests (startup excluded): %d%n",
+                report.path("backgroundStatements").asLong());
+    }
+
+    private static double change(JsonNode before, JsonNode after) {
+        return before.asDouble() == 0 ? 0 : (after.asDouble() - before.asDouble()) / before.asDouble() * 100;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /* ======================= Opciones ======================= */
+
+    static final class Options {
+
+        final int players;
+        final int games;
+        final int turns;
+        final long pollMillis;
+        final File out;
+        final File baseline;
+        final List<String> appArgs = new ArrayList<>();
+
+        Options(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+                switch (pair[0]) {
+                    case "players":
+                    case "games":
+                    case "turns":
+                    case "poll":
+                    case "out":
+                    case "baseline":
+                        values.put(pair[0], pair.length > 1 ? pair[1] : "");
+                        break;
+                    default:
+                        appArgs.add(arg);
+                }
+            }
+            // de a pares: uno crea el game y el otro se une
+            this.players = Math.max(2, Integer.parseInt(values.getOrDefault("players", "20")) / 2 * 2);
+            this.games = Math.max(1, Integer.parseInt(values.getOrDefault("games", "1")));
+            this.turns = Math.max(1, Integer.parseInt(values.getOrDefault("turns", "10")));
+            this.pollMillis = Long.parseLong(values.getOrDefault("poll", "100"));
+            this.out = new File(values.getOrDefault("out", "build/reports/loadtest/results.json"));
+            this.baseline = values.containsKey("baseline") ? new File(values.get("baseline")) : null;
+        }
+    }
+}
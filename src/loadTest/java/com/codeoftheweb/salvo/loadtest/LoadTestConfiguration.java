@@ -0,0 +1,76 @@
+package com.codeoftheweb.salvo.loadtest;
+
+import com.codeoftheweb.salvo.services.GameCommandService;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/* Beans que la prueba de carga agrega a la aplicacion para contar sentencias por endpoint.
+ * Sin @Configuration a proposito: LoadTest la pasa como fuente y el component scan de
+ * SalvoApplication (que tambien ve este paquete) no la registra por segunda vez. */
+public class LoadTestConfiguration {
+
+    @Bean
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    // primero: el de MetricsConfiguration lo envuelve para contar tambien por request
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter statementCounter) {
+        return properties -> properties.put("hibernate.session_factory.statement_inspector", statementCounter);
+    }
+
+    // antes que Spring Security: el login tambien es un endpoint
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> endpointFilter(StatementCounter statementCounter) {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                String endpoint = StatementCounter.endpoint(request.getMethod(), request.getRequestURI());
+                statementCounter.requestStarted(endpoint);
+                StatementCounter.setEndpoint(endpoint);
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    StatementCounter.setEndpoint(null);
+                }
+            }
+        });
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /* Los ships y salvos se guardan en un worker del buzon del game: el comando lleva el endpoint
+     * de la request. El worker lo deja puesto al terminar, porque el flush de los inserts en batch
+     * se hace en el commit, despues del comando; el proximo comando del worker lo reemplaza. */
+    @Bean
+    @Primary
+    public GameCommandService endpointGameCommandService(PlatformTransactionManager transactionManager) {
+        return new GameCommandService(transactionManager) {
+            @Override
+            public <T> CompletableFuture<T> submit(long gameId, Supplier<T> command) {
+                String endpoint = StatementCounter.currentEndpoint();
+                return super.submit(gameId, () -> {
+                    StatementCounter.setEndpoint(endpoint);
+                    return command.get();
+                });
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.codeoftheweb.salvo.loadtest;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/* Cuenta las sentencias SQL que ejecuta Hibernate por endpoint. El endpoint es el del hilo:
+ * el filtro lo pone en el hilo de la request y los comandos del buzon lo llevan al worker.
+ * Lo que corre sin endpoint (tareas programadas, la carga inicial) va a BACKGROUND. */
+public class StatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String BACKGROUND = "(background)";
+
+    private static final ThreadLocal<String> ENDPOINT = new ThreadLocal<>();
+
+    private final Map<String, LongAdder> statements = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+
+    @Override
+    public String inspect(String sql) {
+        String endpoint = ENDPOINT.get();
+        statements.computeIfAbsent(endpoint == null ? BACKGROUND : endpoint, key -> new LongAdder()).increment();
+        return sql;
+    }
+
+    /* ======================= Endpoint del hilo ======================= */
+
+    public static String currentEndpoint() {
+        return ENDPOINT.get();
+    }
+
+    public static void setEndpoint(String endpoint) {
+        if (endpoint == null) {
+            ENDPOINT.remove();
+        } else {
+            ENDPOINT.set(endpoint);
+        }
+    }
+
+    // "POST /api/games/players/{id}/salvos": los ids de la ruta se reemplazan por {id}
+    public static String endpoint(String method, String path) {
+        return method + " " + path.replaceAll("/\\d+(?=/|$)", "/{id}");
+    }
+
+    /* ======================= Contadores ======================= */
+
+    public void requestStarted(String endpoint) {
+        requests.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+    }
+
+    public long getStatements(String endpoint) {
+        LongAdder count = statements.get(endpoint);
+        return count == null ? 0 : count.sum();
+    }
+
+    public long getRequests(String endpoint) {
+        LongAdder count = requests.get(endpoint);
+        return count == null ? 0 : count.sum();
+    }
+
+    public void reset() {
+        statements.clear();
+        requests.clear();
+    }
+}
@@ -7,12 +7,14 @@ import com.codeoftheweb.salvo.models.Salvo;
 import com.codeoftheweb.salvo.models.Score;
 import com.codeoftheweb.salvo.models.Ship;
 import com.codeoftheweb.salvo.repositories.*;
+import com.codeoftheweb.salvo.services.PlayerCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.authentication.configuration.GlobalAuthenticationConfigurerAdapter;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -31,7 +33,9 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import java.util.*;
 
+// scheduling: GameArchiveService archiva los games terminados en segundo plano
 @SpringBootApplication
+@EnableScheduling
 public class SalvoApplication {
 
     public static void main(String[] args) {
@@ -52,6 +56,11 @@ public class SalvoApplication {
                                       SalvoRepository salvoRepository,
                                       ScoreRepository scoreRepository) {
         return (args) -> {
+            // con una base en archivo (perfil prod) los datos de prueba se guardan solo la primera vez
+            if (playerRepository.count() > 0) {
+                return;
+            }
+
             /*guarda jugadores de prueba*/
 
             /* =================== PLAYERS =================== */
@@ -174,12 +183,12 @@ public class SalvoApplication {
 class WebSecurityConfiguration extends GlobalAuthenticationConfigurerAdapter {
 
     @Autowired
-    PlayerRepository playerRepository;
+    PlayerCacheService playerCacheService;
 
     @Override
     public void init(AuthenticationManagerBuilder auth) throws Exception {
         auth.userDetailsService(inputName -> {
-            Player player = playerRepository.findByUserName(inputName);
+            PlayerCacheService.CachedPlayer player = playerCacheService.find(inputName);
             if (player != null) {
                 return new User(player.getUserName(), player.getPassword(),
                         AuthorityUtils.createAuthorityList("USER"));
@@ -200,6 +209,7 @@ class WebSecurityConfig extends WebSecurityConfigurerAdapter {
                 //recursos estaticos estan liberados
                 .antMatchers("/web/**").permitAll()
                 .antMatchers("/api/game_view/**").hasAuthority("USER")
+                .antMatchers("/api/history/**").hasAuthority("USER")
                 .antMatchers("/api/games").permitAll()
                 .antMatchers("/api/leadBoard").permitAll();
 
@@ -1,18 +1,24 @@
 package com.codeoftheweb.salvo.controller;
 
+import com.codeoftheweb.salvo.metrics.GameMetrics;
 import com.codeoftheweb.salvo.models.Game;
 import com.codeoftheweb.salvo.models.GamePlayer;
+import com.codeoftheweb.salvo.models.Player;
 import com.codeoftheweb.salvo.repositories.GamePlayerRepository;
 import com.codeoftheweb.salvo.repositories.GameRepository;
 import com.codeoftheweb.salvo.repositories.PlayerRepository;
+import com.codeoftheweb.salvo.services.PlayerCacheService;
+import com.codeoftheweb.salvo.services.TurnLogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,6 +35,12 @@ public class GameController {
     @Autowired
     private PlayerRepository playerRepository;
 
+    @Autowired
+    private PlayerCacheService playerCacheService;
+
+    @Autowired
+    private TurnLogService turnLogService;
+
     /* ======================= Create Game ======================= */
 
     /* metodo que verifica si el usuario esta autenticado y crea un nuevo juego
@@ -37,12 +49,25 @@ public class GameController {
     @RequestMapping(path = "/games", method = RequestMethod.POST)
     public ResponseEntity<Map<String, Object>> createGame(Authentication authentication) {
 
-        if (authentication == null) {
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return new ResponseEntity<>(MakeMap("error", "No player logged in"), HttpStatus.UNAUTHORIZED);
+        }
+
+        // el usuario autenticado ya no existe (se borro despues del login)
+        PlayerCacheService.CachedPlayer current = playerCacheService.find(authentication.getName());
+        if (current == null) {
             return new ResponseEntity<>(MakeMap("error", "No player logged in"), HttpStatus.UNAUTHORIZED);
         }
 
-        Game game = gameRepository.save(new Game());
-        GamePlayer gamePlayer = gamePlayerRepository.save(new GamePlayer(game, playerRepository.findByUserName(authentication.getName())));
+        Game game = gameRepository.save(new Game(new Date()));
+        Player player = playerRepository.getOne(current.getId());
+        GamePlayer gamePlayer = gamePlayerRepository.save(new GamePlayer(game, player));
+        gameRepository.bumpVersion(game.getId());
+        long version = gameRepository.findVersion(game.getId());
+        turnLogService.gameCreated(game.getId(), version, game.getCreationDate());
+        turnLogService.gamePlayerJoined(game.getId(), version, gamePlayer.getId(), player.getId(),
+                gamePlayer.getJoinDate());
+        GameMetrics.GAMES_CREATED.increment();
         return new ResponseEntity<>(MakeMap("gpid", gamePlayer.getId()), HttpStatus.CREATED);
     }
 
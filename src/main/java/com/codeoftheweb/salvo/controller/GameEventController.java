@@ -0,0 +1,49 @@
+package com.codeoftheweb.salvo.controller;
+
+import com.codeoftheweb.salvo.services.GameEventService;
+import com.codeoftheweb.salvo.services.HotGame;
+import com.codeoftheweb.salvo.services.HotGameService;
+import com.codeoftheweb.salvo.services.PlayerCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api")
+public class GameEventController {
+
+    @Autowired
+    private HotGameService hotGameService;
+
+    @Autowired
+    private GameEventService gameEventService;
+
+    @Autowired
+    private PlayerCacheService playerCacheService;
+
+    /* ======================= Game Events ======================= */
+
+    /* stream de eventos del game del gamePlayer, solo para el player dueño del gamePlayer
+     * game.js vuelve a pedir el game_view cuando llega un evento "state" */
+
+    @RequestMapping(path = "/game_view/{gamePlayer_Id}/events", method = RequestMethod.GET,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable Long gamePlayer_Id, Authentication authentication) {
+        HotGame game = hotGameService.findByGamePlayer(gamePlayer_Id);
+        HotGame.Seat seat = game == null ? null : game.getSeat(gamePlayer_Id);
+        PlayerCacheService.CachedPlayer player = playerCacheService.find(authentication.getName());
+
+        if (seat == null || player == null || seat.getPlayerId() != player.getId()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        }
+
+        return gameEventService.subscribe(game.getId());
+    }
+}
@@ -0,0 +1,107 @@
+package com.codeoftheweb.salvo.controller;
+
+import com.codeoftheweb.salvo.models.ArchivedGame;
+import com.codeoftheweb.salvo.repositories.ArchivedGameRepository;
+import com.codeoftheweb.salvo.services.PlayerCacheService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api")
+public class HistoryController {
+
+    private static final int HISTORY_MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private ArchivedGameRepository archivedGameRepository;
+
+    @Autowired
+    private PlayerCacheService playerCacheService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /* ======================= History ======================= */
+
+    /* games archivados (terminados hace mas de una hora) del usuario, del mas nuevo al mas viejo,
+     * por paginas; cada uno con sus gamePlayers, ships, salvos y scores */
+
+    @RequestMapping("/history")
+    public ResponseEntity<Object> getHistory(Authentication authentication,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "20") int size) {
+        PlayerCacheService.CachedPlayer player = isGuest(authentication)
+                ? null
+                : playerCacheService.find(authentication.getName());
+        if (player == null) {
+            return new ResponseEntity<>(makeMap("error", "No player logged in"), HttpStatus.UNAUTHORIZED);
+        }
+
+        int pageSize = Math.max(1, Math.min(size, HISTORY_MAX_PAGE_SIZE));
+        List<JsonNode> games = archivedGameRepository
+                .findHistory(player.getId(), PageRequest.of(Math.max(0, page), pageSize))
+                .stream()
+                .map(this::readGame)
+                .collect(Collectors.toList());
+        return new ResponseEntity<>(games, HttpStatus.OK);
+    }
+
+    // un game archivado, solo para los players que lo jugaron
+    @RequestMapping("/history/{gameId}")
+    public ResponseEntity<Object> getArchivedGame(@PathVariable Long gameId, Authentication authentication) {
+        PlayerCacheService.CachedPlayer player = isGuest(authentication)
+                ? null
+                : playerCacheService.find(authentication.getName());
+        if (player == null) {
+            return new ResponseEntity<>(makeMap("error", "No player logged in"), HttpStatus.UNAUTHORIZED);
+        }
+
+        ArchivedGame game = archivedGameRepository.findById(gameId).orElse(null);
+        if (game == null) {
+            return new ResponseEntity<>(makeMap("error", "No such game"), HttpStatus.NOT_FOUND);
+        }
+        if (!Long.valueOf(player.getId()).equals(game.getFirstPlayerId())
+                && !Long.valueOf(player.getId()).equals(game.getSecondPlayerId())) {
+            return new ResponseEntity<>(makeMap("error", "Unauthorized"), HttpStatus.UNAUTHORIZED);
+        }
+        return new ResponseEntity<>(readGame(game), HttpStatus.OK);
+    }
+
+    // el documento guardado al archivar (ArchivedGameDTO)
+    private JsonNode readGame(ArchivedGame game) {
+        try {
+            return objectMapper.readTree(game.getData());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //Metodo que verifica si el usuario es Guest o User
+    private boolean isGuest(Authentication authentication) {
+        return authentication == null || authentication instanceof AnonymousAuthenticationToken;
+    }
+
+    //Metodo para hacer DTO con key y value
+    private Map<String, Object> makeMap(String key, Object value) {
+        Map<String, Object> map = new HashMap<>();
+        map.put(key, value);
+        return map;
+    }
+}
@@ -1,16 +1,40 @@
 package com.codeoftheweb.salvo.controller;
 
+import com.codeoftheweb.salvo.dto.*;
+import com.codeoftheweb.salvo.engine.*;
+import com.codeoftheweb.salvo.metrics.GameMetrics;
+import com.codeoftheweb.salvo.metrics.RequestStatistics;
 import com.codeoftheweb.salvo.models.*;
 import com.codeoftheweb.salvo.repositories.*;
+import com.codeoftheweb.salvo.services.BotService;
+import com.codeoftheweb.salvo.services.GameCommandService;
+import com.codeoftheweb.salvo.services.GameEventService;
+import com.codeoftheweb.salvo.services.GameSeatService;
+import com.codeoftheweb.salvo.services.HotGame;
+import com.codeoftheweb.salvo.services.HotGameService;
+import com.codeoftheweb.salvo.services.IdempotencyService;
+import com.codeoftheweb.salvo.services.LeaderBoardService;
+import com.codeoftheweb.salvo.services.PlayerCacheService;
+import com.codeoftheweb.salvo.services.ScoreService;
+import com.codeoftheweb.salvo.services.TurnLogService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.servlet.http.HttpServletRequest;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toList;
@@ -41,26 +65,130 @@ public class SalvoController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private HotGameService hotGameService;
+
+    @Autowired
+    private GameEventService gameEventService;
+
+    @Autowired
+    private LeaderBoardService leaderBoardService;
+
+    @Autowired
+    private PlayerCacheService playerCacheService;
+
+    @Autowired
+    private GameSeatService gameSeatService;
+
+    @Autowired
+    private GameCommandService gameCommandService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TurnLogService turnLogService;
+
+    @Autowired
+    private ScoreService scoreService;
+
+    @Autowired
+    private BotService botService;
+
     /* ======================= GAMES ======================= */
-    // dto con info de Player y todos los Games
+    // dto con info de Player y una pagina de Games, del mas nuevo al mas viejo
+
+    private static final int LOBBY_PAGE_SIZE = 50;
+    private static final int LOBBY_MAX_PAGE_SIZE = 200;
+    private static final int LEADERBOARD_MAX_PAGE_SIZE = 100;
+
+    /* Filtros opcionales:
+     * size: games por pagina, after: cursor "next" de la pagina anterior,
+     * open: solo games con lugar libre, mine: solo games del usuario (401 para un guest),
+     * finished: true/false games con o sin scores,
+     * createdAfter: fecha minima de creacion en ISO (2019-09-01T00:00:00.000Z) */
 
     @RequestMapping("/games")
-    public Map<String, Object> getAllGames(Authentication authentication) {
-        Map<String, Object> dto = new LinkedHashMap<>();
+    public ResponseEntity<Object> getAllGames(Authentication authentication, WebRequest webRequest,
+                                              @RequestParam(defaultValue = "" + LOBBY_PAGE_SIZE) int size,
+                                              @RequestParam(required = false) String after,
+                                              @RequestParam(defaultValue = "false") boolean open,
+                                              @RequestParam(defaultValue = "false") boolean mine,
+                                              @RequestParam(required = false) Boolean finished,
+                                              @RequestParam(required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date createdAfter) {
+        Date cursorDate = null;
+        long cursorId = 0;
+        if (after != null) {
+            String[] cursor = after.split("_");
+            try {
+                cursorDate = new Date(Long.parseLong(cursor[0]));
+                cursorId = Long.parseLong(cursor[1]);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                return new ResponseEntity<>(makeMap("error", "Invalid cursor"), HttpStatus.BAD_REQUEST);
+            }
+        }
+        // mine: los games del usuario; un guest no tiene
+        if (mine && isGuest(authentication)) {
+            return new ResponseEntity<>(makeMap("error", "No player logged in"), HttpStatus.UNAUTHORIZED);
+        }
+        String userName = mine ? authentication.getName() : null;
+        int pageSize = Math.max(1, Math.min(size, LOBBY_MAX_PAGE_SIZE));
 
-        if (isGuest(authentication)) {
-            dto.put("player", "Guest");
-        } else {
-            Player player = playerRepository.findByUserName(authentication.getName());
-            dto.put("player", player.getPlayerDTO());
+        String etag = lobbyETag(authentication, Objects.hash(pageSize, after, open, userName, finished, createdAfter));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
 
-        dto.put("games", gameRepository.findAll()
+        PlayerCacheService.CachedPlayer current = currentPlayer(authentication);
+        if (current == null && !isGuest(authentication)) {
+            return new ResponseEntity<>(makeMap("error", "No player logged in"), HttpStatus.UNAUTHORIZED);
+        }
+        Object player = current == null
+                ? LobbyDTO.GUEST
+                : new PlayerDTO(current.getId(), current.getUserName());
+
+        Slice<Long> gameIds = gameRepository.findLobby(cursorDate, cursorId, createdAfter, open, userName, finished,
+                PageRequest.of(0, pageSize));
+        List<LobbyRow> rows = gameIds.hasContent()
+                ? gameRepository.findLobbyRows(gameIds.getContent())
+                : Collections.<LobbyRow>emptyList();
+        Map<Long, List<LobbyScoreRow>> scoresByGame = gameIds.hasContent()
+                ? gameRepository.findLobbyScores(gameIds.getContent())
+                        .stream()
+                        .collect(Collectors.groupingBy(LobbyScoreRow::getGameId))
+                : Collections.<Long, List<LobbyScoreRow>>emptyMap();
+
+        // las filas vienen ordenadas por game: se agrupan en el mismo orden
+        Map<Long, List<LobbyRow>> rowsByGame = rows
                 .stream()
-                .map(game -> makeGameDTO(game))
+                .collect(Collectors.groupingBy(LobbyRow::getGameId, LinkedHashMap::new, toList()));
+        List<GameDTO> games = GameMetrics.DTO_LOBBY.record(() -> rowsByGame.entrySet()
+                .stream()
+                .map(game -> makeGameDTO(game.getValue(),
+                        scoresByGame.getOrDefault(game.getKey(), Collections.<LobbyScoreRow>emptyList())))
                 .collect(toList()));
+        String next = gameIds.hasNext() ? lobbyCursor(rows.get(rows.size() - 1)) : null;
 
-        return dto;
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(new LobbyDTO(player, games, next));
+    }
+
+    // ETag del lobby: cambia si se crea un game o cambia la version de alguno, y depende del usuario y los filtros
+    private String lobbyETag(Authentication authentication, int filters) {
+        Object[] version = gameRepository.findLobbyVersion().get(0);
+        String user = isGuest(authentication) ? "guest" : Integer.toHexString(authentication.getName().hashCode());
+        return "\"lobby-" + version[0] + "-" + version[1] + "-" + version[2] + "-" + user
+                + "-" + Integer.toHexString(filters) + "\"";
+    }
+
+    // Cursor para pedir la pagina siguiente: fecha de creacion y id del ultimo game
+    private String lobbyCursor(LobbyRow row) {
+        return row.getCreated().getTime() + "_" + row.getGameId();
+    }
+
+    // Usuario autenticado, desde el cache (null si es un guest o si ya no existe)
+    private PlayerCacheService.CachedPlayer currentPlayer(Authentication authentication) {
+        return isGuest(authentication) ? null : playerCacheService.find(authentication.getName());
     }
 
     //Metodo que verifica si el usuario es Guest o User
@@ -72,20 +200,26 @@ public class SalvoController {
     // dto del gamePlayer con id igual al id que me pasan, si esta autorizado
 
     @RequestMapping("/game_view/{gamePlayer_Id}")
-    public ResponseEntity<Map<String, Object>> GameView(@PathVariable Long gamePlayer_Id,
-                                                        Authentication authentication) {
-
-        Player player = playerRepository.findByUserName(authentication.getName());
-        GamePlayer gamePlayer = gamePlayerRepository.findById(gamePlayer_Id).orElse(null);
-
-        if (player != null) {
-            if(gamePlayer   !=  null){
-                if (gamePlayer.getPlayer().getId() == player.getId()) {
-                    return new ResponseEntity<>(makeGameViewDTO(gamePlayer), HttpStatus.CREATED);
-                }
+    public ResponseEntity<Object> GameView(@PathVariable Long gamePlayer_Id,
+                                           Authentication authentication,
+                                           WebRequest webRequest) {
+
+        // el game se lee del cache de games en juego: solo se carga de la base si no esta
+        PlayerCacheService.CachedPlayer player = currentPlayer(authentication);
+        HotGame game = player == null ? null : hotGameService.findByGamePlayer(gamePlayer_Id);
+        HotGame.Seat seat = game == null ? null : game.getSeat(gamePlayer_Id);
+
+        if (seat != null && seat.getPlayerId() == player.getId()) {
+            // si el game no cambio desde el ultimo pedido responde 304
+            // (checkNotModified tambien agrega el header ETag a la respuesta)
+            if (webRequest.checkNotModified("\"game-view-" + gamePlayer_Id + "-" + game.getVersion() + "\"")) {
+                return null;
             }
-
-            return new ResponseEntity<>(makeMap("error", "Unauthorized"), HttpStatus.UNAUTHORIZED);
+            // un game terminado ya no cambia: su game_view se arma una sola vez
+            GameViewDTO view = game.isFinished()
+                    ? game.finalView(gamePlayer_Id, id -> makeGameViewDTO(game, seat))
+                    : makeGameViewDTO(game, seat);
+            return ResponseEntity.status(HttpStatus.CREATED).cacheControl(CacheControl.noCache()).body(view);
         }
 
         return new ResponseEntity<>(makeMap("error", "Unauthorized"), HttpStatus.UNAUTHORIZED);
@@ -103,29 +237,14 @@ public class SalvoController {
     /* obtiene datos del game del gamePlayer, da info sobre ambos gp en ese game
      * con dto de ships del gp principal y sus salvoes */
 
-    public Map<String, Object> makeGameViewDTO(GamePlayer gamePlayer) {
-        Map<String, Object> dto = new LinkedHashMap<>();
-        Map<String, Object> opdto = new LinkedHashMap<>();
-        GamePlayer opponent = getOpponent(gamePlayer);
-
-        if (opponent != null) {
-            opdto.put("self", getAllHits(getOpponent(gamePlayer)));
-            opdto.put("opponent", getAllHits(opponent));
-        } else {
-            opdto.put("self", new ArrayList<>());
-            opdto.put("opponent", new ArrayList<>());
-        }
-
-        Set<Ship> ships = gamePlayer.getShips();
-        Set<Salvo> salvos = gamePlayer.getSalvos();
-        dto.put("id", gamePlayer.getGame().getId());
-        dto.put("created", gamePlayer.getGame().getCreationDate());
-        dto.put("gameState", getGameState(gamePlayer));
-        dto.put("gamePlayers", getAllGamePlayers(gamePlayer.getGame().getGamePlayers()));
-        dto.put("ships", getAllShips(ships));
-        dto.put("salvoes", getAllSalvos(salvos));
-        dto.put("hits", getHitsDTO(gamePlayer));
-        return dto;
+    public GameViewDTO makeGameViewDTO(HotGame game, HotGame.Seat seat) {
+        return GameMetrics.DTO_GAME_VIEW.record(() -> new GameViewDTO(game.getId(),
+                game.getCreated(),
+                seat.getState().getState().name(),
+                getAllGamePlayers(game.getSeats()),
+                seat.getShips(),
+                seat.getSalvoes(),
+                getHitsDTO(game, seat)));
     }
 
     /* ======================= Add Players ======================= */
@@ -138,7 +257,7 @@ public class SalvoController {
             return new ResponseEntity<>("Missing data", HttpStatus.FORBIDDEN);
         }
 
-        if (playerRepository.findByUserName(email) != null) {
+        if (playerCacheService.find(email) != null) {
             return new ResponseEntity<>("Name already exists", HttpStatus.FORBIDDEN);
         }
 
@@ -160,22 +279,75 @@ public class SalvoController {
      * "Join game" button en el front end */
 
     @RequestMapping(path = "/game/{gameid}/players", method = RequestMethod.POST)
-    private ResponseEntity<Map<String, Object>> joinGame(@PathVariable Long gameid,
-                                                         Authentication authentication) {
+    private CompletableFuture<ResponseEntity<Map<String, Object>>> joinGame(@PathVariable Long gameid,
+                                                                            Authentication authentication) {
+
+        PlayerCacheService.CachedPlayer player = currentPlayer(authentication);
+        if (player == null) {
+            return CompletableFuture.completedFuture(new ResponseEntity<>
+                    (MakeMap("error", "No player logged in"), HttpStatus.UNAUTHORIZED));
+        }
+        // en el buzon del game, como ships y salvos: la foto del cache que arma un comando
+        // ya incluye (o todavia no) al gamePlayer nuevo, nunca lo pierde
+        long playerId = player.getId();
+        return gameCommandService.submit(gameid, () -> claimSeat(gameid, playerId));
+    }
 
-        if (authentication == null) {
-            return new ResponseEntity<>(MakeMap("error", "No player logged in"), HttpStatus.UNAUTHORIZED);
-        }
-        Game joinGame = gameRepository.getOne(gameid);
-        if (joinGame == null) {
-            return new ResponseEntity<>(MakeMap("error", "No such game"), HttpStatus.FORBIDDEN);
-        }
-        if (joinGame.getGamePlayers().size() >= 2) {
-            return new ResponseEntity<>(MakeMap("error", "Game is full"), HttpStatus.FORBIDDEN);
-        }
+    private ResponseEntity<Map<String, Object>> claimSeat(long gameId, long playerId) {
+        GamePlayer gamePlayer;
+        try {
+            gamePlayer = gameSeatService.claimSeat(gameId, playerId);
+        } catch (GameSeatService.SeatUnavailableException e) {
+            return new ResponseEntity<>(MakeMap("error", e.getMessage()), HttpStatus.FORBIDDEN);
+        }
+
+        // el asiento ya hizo commit (su propia transaccion): la foto nueva del game lo incluye
+        HotGame joined = HotGame.of(gameRepository.findById(gameId).get(), gameRepository.findVersion(gameId));
+        long gamePlayerId = gamePlayer.getId();
+        Date joinDate = gamePlayer.getJoinDate();
+        gameCommandService.afterCommit(() -> {
+            hotGameService.put(joined);
+            turnLogService.gamePlayerJoined(gameId, joined.getVersion(), gamePlayerId, playerId, joinDate);
+            gameEventService.publish(gameId, "join");
+            GameMetrics.GAMES_JOINED.increment();
+        });
+        return new ResponseEntity<>(makeMap("gpid", gamePlayerId), HttpStatus.CREATED);
+    }
 
-        GamePlayer gamePlayer = gamePlayerRepository.save(new GamePlayer(joinGame, playerRepository.findByUserName(authentication.getName())));
-        return new ResponseEntity<>(makeMap("gpid", gamePlayer.getId()), HttpStatus.CREATED);
+    /* ======================= Bot ======================= */
+
+    /* Un jugador: el bot se une al game del usuario y ubica sus ships; despues responde cada salvo.
+     * Son los mismos comandos del buzon del game que usa un jugador (claimSeat, placeShips, fireSalvo)
+     * "Play bot" button en el front end */
+
+    @RequestMapping(path = "/game/{gameid}/bot", method = RequestMethod.POST)
+    private CompletableFuture<ResponseEntity<Map<String, Object>>> addBot(@PathVariable Long gameid,
+                                                                          Authentication authentication) {
+        PlayerCacheService.CachedPlayer player = currentPlayer(authentication);
+        if (player == null) {
+            return CompletableFuture.completedFuture(new ResponseEntity<>
+                    (MakeMap("error", "No player logged in"), HttpStatus.UNAUTHORIZED));
+        }
+        long playerId = player.getId();
+        HotGame game = hotGameService.get(gameid);
+        if (game == null || game.getSeats().stream().noneMatch(seat -> seat.getPlayerId() == playerId)) {
+            return CompletableFuture.completedFuture(new ResponseEntity<>
+                    (MakeMap("error", "The current player is not in the game"), HttpStatus.FORBIDDEN));
+        }
+
+        long botId = botService.getPlayerId();
+        return gameCommandService.submit(gameid, () -> claimSeat(gameid, botId))
+                .thenCompose(joined -> joined.getStatusCode() != HttpStatus.CREATED
+                        ? CompletableFuture.completedFuture(joined)
+                        : gameCommandService.submit(gameid, () -> placeShips(gameid,
+                                (Long) joined.getBody().get("gpid"), botId, botService.fleet()))
+                        .thenApply(placed -> joined));
+    }
+
+    // Salvo del bot, con la foto del game del cache al momento de dispararlo
+    private ResponseEntity<Map<String, Object>> botSalvo(long gameId, long gamePlayerId) {
+        HotGame.Seat seat = hotGameService.get(gameId).getSeat(gamePlayerId);
+        return fireSalvo(gameId, gamePlayerId, seat.getPlayerId(), botService.salvo(seat.getState()));
     }
 
     /* ======================= Add Ships ======================= */
@@ -185,391 +357,347 @@ public class SalvoController {
      * "add ships" button en el front end */
 
     @RequestMapping(path = "/games/players/{gamePlayerId}/ships", method = RequestMethod.POST)
-    public ResponseEntity<Map<String, Object>> addShips(@PathVariable Long gamePlayerId,
-                                                        @RequestBody Set<Ship> ships,
-                                                        Authentication authentication) {
-        GamePlayer gamePlayer = gamePlayerRepository.findById(gamePlayerId).get();
-        Player player = playerRepository.findByUserName(authentication.getName());
-
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> addShips(@PathVariable Long gamePlayerId,
+                                                                           @RequestBody Set<Ship> ships,
+                                                                           @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                                           Authentication authentication,
+                                                                           HttpServletRequest request) {
         if (isGuest(authentication)) {
-            return new ResponseEntity<>
-                    (makeMap("error", "There is no current user logged in"), HttpStatus.UNAUTHORIZED);
-        }
-        if (!gamePlayerRepository.findById(gamePlayerId).isPresent()) {
-            return new ResponseEntity<>
-                    (makeMap("error", "There is no game player with the given ID"), HttpStatus.UNAUTHORIZED);
-        }
-        if (gamePlayer.getPlayer().getId() != player.getId()) {
-            return new ResponseEntity<>(makeMap("error", "The current player is not the game player the ID references"),
-                    HttpStatus.UNAUTHORIZED);
+            return CompletableFuture.completedFuture(new ResponseEntity<>
+                    (makeMap("error", "There is no current user logged in"), HttpStatus.UNAUTHORIZED));
         }
-        if (!gamePlayer.getShips().isEmpty()) {
-            return new ResponseEntity<>
-                    (makeMap("error", "The player already has ships placed"), HttpStatus.FORBIDDEN);
+        if (idempotencyKey != null) {
+            // un reintento con la misma clave recibe la respuesta original
+            return idempotent(request, authentication, idempotencyKey, shipsPayload(ships),
+                    () -> submitShips(gamePlayerId, ships, authentication));
         }
-
-        ships.forEach(ship -> ship.setGamePlayer(gamePlayer));
-        shipRepository.saveAll(ships);
-        return new ResponseEntity<>(makeMap("addShips", "Ships created"), HttpStatus.CREATED);
+        return submitShips(gamePlayerId, ships, authentication);
     }
 
-    /* ======================= Add Salvos ======================= */
+    private CompletableFuture<ResponseEntity<Map<String, Object>>> submitShips(long gamePlayerId, Set<Ship> ships,
+                                                                               Authentication authentication) {
+        Long gameId = hotGameService.findGameId(gamePlayerId);
+        if (gameId == null) {
+            return CompletableFuture.completedFuture(new ResponseEntity<>
+                    (makeMap("error", "There is no game player with the given ID"), HttpStatus.UNAUTHORIZED));
+        }
 
-    /* verifica player
-     * "add salvos" button en el front end. */
+        PlayerCacheService.CachedPlayer player = currentPlayer(authentication);
+        if (player == null) {
+            return CompletableFuture.completedFuture(new ResponseEntity<>
+                    (makeMap("error", "There is no current user logged in"), HttpStatus.UNAUTHORIZED));
+        }
 
-    @RequestMapping(path = "/games/players/{gamePlayerId}/salvos", method = RequestMethod.POST)
-    public ResponseEntity<Map<String, Object>> addSalvoes(@PathVariable Long gamePlayerId,
-                                                          @RequestBody Salvo salvo,
-                                                          Authentication authentication) {
+        // se valida y se guarda en el buzon del game, despues de los comandos anteriores del mismo game
+        long playerId = player.getId();
+        return gameCommandService.submit(gameId, () -> placeShips(gameId, gamePlayerId, playerId, ships));
+    }
 
-        GamePlayer gamePlayer = gamePlayerRepository.findById(gamePlayerId).get();
-        Player player = playerRepository.findByUserName(authentication.getName());
+    private ResponseEntity<Map<String, Object>> placeShips(long gameId, long gamePlayerId, long playerId,
+                                                           Set<Ship> ships) {
+        // las validaciones se hacen sobre el game del cache
+        HotGame.Seat seat = hotGameService.get(gameId).getSeat(gamePlayerId);
 
-        if (isGuest(authentication)) {
-            return new ResponseEntity<>
-                    (makeMap("error", "There is no current user logged in"), HttpStatus.UNAUTHORIZED);
+        if (seat == null || seat.getPlayerId() != playerId) {
+            return new ResponseEntity<>(makeMap("error", "The current player is not the game player the ID references"),
+                    HttpStatus.UNAUTHORIZED);
         }
-
-        if (!gamePlayerRepository.findById(gamePlayerId).isPresent()) {
+        if (!seat.getShips().isEmpty()) {
             return new ResponseEntity<>
-                    (makeMap("error", "There is no game player with the given ID"), HttpStatus.UNAUTHORIZED);
+                    (makeMap("error", "The player already has ships placed"), HttpStatus.FORBIDDEN);
         }
-
-        if (gamePlayer.getPlayer().getId() != player.getId()) {
-            return new ResponseEntity<>(makeMap("error", "The current player is not the game player the ID references"),
-                    HttpStatus.UNAUTHORIZED);
+        String invalid = invalidShips(ships);
+        if (invalid != null) {
+            return new ResponseEntity<>(makeMap("error", invalid), HttpStatus.FORBIDDEN);
         }
-/*
-        salvo.setGamePlayer(gamePlayer);
-        salvo.setTurn(gamePlayer.getSalvos().size()+1);
-        salvoRepository.save(salvo);
-        return new ResponseEntity<>(makeMap("addSalvoes", "Salvos save"), HttpStatus.CREATED);
 
- */
+        // los ships cambian la flota del oponente: la foto nueva del game se arma con las entidades
+        GamePlayer gamePlayer = gamePlayerRepository.findWithGameById(gamePlayerId).get();
+        ships.forEach(gamePlayer::addShip);
+        shipRepository.saveAll(ships);
+        gameRepository.bumpVersion(gameId);
+        HotGame placed = HotGame.of(gamePlayer.getGame(), gameRepository.findVersion(gameId));
+        gameCommandService.afterCommit(() -> {
+            hotGameService.put(placed);
+            turnLogService.shipsPlaced(gameId, placed.getVersion(), gamePlayerId, ships);
+            gameEventService.publish(gameId, "ships");
+        });
+        return new ResponseEntity<>(makeMap("addShips", "Ships created"), HttpStatus.CREATED);
+    }
 
-        Set<Salvo> salvoes = gamePlayer.getSalvos();
-        for (Salvo salvoX : salvoes) {
-            if (salvo.getTurn() == salvoX.getTurn() || gamePlayer.getSalvos().size() > getOpponent(gamePlayer).getSalvos().size()) {
-                return new ResponseEntity<>
-                        (makeMap("error", "The player already has submitted a salvo for the turn listed"),
-                                HttpStatus.FORBIDDEN);
+    // Motivo por el que la flota no se puede ubicar, o null si es valida: como mucho un ship de cada tipo,
+    // cada uno con tantas celdas de la grilla como su largo, sin pisarse entre ellos
+    private static String invalidShips(Set<Ship> ships) {
+        if (ships == null || ships.isEmpty()) {
+            return "There are no ships to place";
+        }
+        Set<ShipType> types = EnumSet.noneOf(ShipType.class);
+        Bitboard placed = Bitboard.EMPTY;
+        for (Ship ship : ships) {
+            ShipType type = ShipType.of(ship.getType());
+            if (type == null) {
+                return "Invalid ship type: " + ship.getType();
+            }
+            if (!types.add(type)) {
+                return "There is more than one " + type.getName();
+            }
+            Set<String> cells = ship.getLocations();
+            if (cells == null || cells.size() != type.getLength()) {
+                return "A " + type.getName() + " must have " + type.getLength() + " cells";
+            }
+            for (String cell : cells) {
+                if (Bitboard.index(cell) < 0) {
+                    return "Invalid cell: " + cell;
+                }
             }
+            Bitboard bitboard = Bitboard.of(cells);
+            if (bitboard.count() != cells.size() || bitboard.intersects(placed)) {
+                return "Ships cannot overlap";
+            }
+            placed = placed.or(bitboard);
         }
-
-        salvoRepository.save(new Salvo(salvoes.size() + 1, gamePlayer, salvo.getSalvoLocations()));
-        return new ResponseEntity<>(makeMap("OK", "Salvoes save"), HttpStatus.CREATED);
-
-    }
-
-    // Tabla de clasificasiones
-    @RequestMapping("/leaderBoard")
-    private List<Map<String, Object>> getLeaderBoard() {
-        return playerRepository.findAll()
-                .stream()
-                .map(player -> playerLeaderBoardDTO(player))
-                .collect(Collectors.toList());
-    }
-
-    /* ======================= GamePlayer DTOs ======================= */
-
-    // Lista de dto de cada ship para cada gamePlayer
-    private List<Map<String, Object>> getAllShips(Set<Ship> ships) {
-        return ships
-                .stream()
-                .map(ship -> ship.shipDTO())
-                .collect(Collectors.toList());
+        return null;
     }
 
-    // Salvo Locations
-    private List<Map<String, Object>> getAllSalvos(Set<Salvo> salvos) {
-        return salvos
-                .stream()
-                .map(salvo -> salvo.salvoDTO())
-                .collect(Collectors.toList());
+    /* Ships y salvos con Idempotency-Key: la clave vale para este metodo y path y para el mismo cuerpo;
+     * reusarla con otro cuerpo es 422 */
+    private CompletableFuture<ResponseEntity<Map<String, Object>>> idempotent(
+            HttpServletRequest request, Authentication authentication, String idempotencyKey, String payload,
+            Supplier<CompletableFuture<ResponseEntity<Map<String, Object>>>> command) {
+        try {
+            return idempotencyService.execute(authentication.getName(), request.getMethod(), request.getRequestURI(),
+                    idempotencyKey, payload, command);
+        } catch (IdempotencyService.KeyReusedException e) {
+            return CompletableFuture.completedFuture(new ResponseEntity<>
+                    (makeMap("error", e.getMessage()), HttpStatus.UNPROCESSABLE_ENTITY));
+        }
     }
 
-    // Score
-    private List<Map<String, Object>> getAllScore(Set<Score> scores) {
-        return scores
-                .stream()
-                .map(score -> score.scoreDTO())
-                .collect(Collectors.toList());
+    // cuerpo de ships en forma canonica (sin importar el orden en que vinieron ships y celdas)
+    private static String shipsPayload(Set<Ship> ships) {
+        List<String> payload = new ArrayList<>();
+        for (Ship ship : ships) {
+            payload.add(ship.getType() + sorted(ship.getLocations()));
+        }
+        Collections.sort(payload);
+        return payload.toString();
     }
 
-    private Map<String, Object> getPlayerScoreDTO(Player player) {
-        Map<String, Object> dto = new LinkedHashMap<>();
-        dto.put("total", player.getTotalScore());
-        dto.put("won", player.getWinScore());
-        dto.put("lost", player.getLostScore());
-        dto.put("tied", player.getTiedScore());
-        return dto;
+    private static String salvoPayload(Salvo salvo) {
+        return salvo.getTurn() + "/" + sorted(salvo.getSalvoLocations());
     }
 
-    //LeaderBoard
-    private Map<String, Object> playerLeaderBoardDTO(Player player) {
-        Map<String, Object> dto = new LinkedHashMap<String, Object>();
-        dto.put("id", player.getId());
-        dto.put("email", player.getUserName());
-        dto.put("score", this.getPlayerScoreDTO(player));
-        return dto;
+    private static List<String> sorted(Collection<String> cells) {
+        List<String> sorted = cells == null ? new ArrayList<>() : new ArrayList<>(cells);
+        sorted.sort(Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+        return sorted;
     }
 
-    private Map<String, Object> getHitsDTO(GamePlayer gamePlayer) {
-        Map<String, Object> dto = new LinkedHashMap<>();
+    /* ======================= Add Salvos ======================= */
 
-        GamePlayer opponent = getOpponent(gamePlayer);
+    /* verifica player
+     * "add salvos" button en el front end. */
 
-        if (opponent != null) {
-            dto.put("self", getAllHits(getOpponent(gamePlayer)));
-            dto.put("opponent", getAllHits(gamePlayer));
-        } else {
-            dto.put("self", new ArrayList<>());
-            dto.put("opponent", new ArrayList<>());
-        }
-
-        return dto;
-    }
-
-
-    private Map<String, Object> getDamageDTO(int carrierHIT, int carrierDMG, int battleshipHIT, int battleshipDMG,
-                                             int submarineHIT, int submarineDMG, int destroyerHIT, int destroyerDMG,
-                                             int patrolboatHIT, int patrolboatDMG) {
-        Map<String, Object> dto = new LinkedHashMap<String, Object>();
-        dto.put("carrierHits", carrierHIT);
-        dto.put("battleshipHits", battleshipHIT);
-        dto.put("submarineHits", submarineHIT);
-        dto.put("destroyerHits", destroyerHIT);
-        dto.put("patrolboatHits", patrolboatHIT);
-        dto.put("carrier", carrierDMG);
-        dto.put("battleship", battleshipDMG);
-        dto.put("submarine", submarineDMG);
-        dto.put("destroyer", destroyerDMG);
-        dto.put("patrolboat", patrolboatDMG);
-        return dto;
-    }
-    private GamePlayer getOpponent(GamePlayer gamePlayer) {
-        GamePlayer opponent = null;
-        for (GamePlayer gp : gamePlayer.getGame().getGamePlayers()) {
-            if (gp.getId() != gamePlayer.getId()) {
-                opponent = gp;
-            }
+    @RequestMapping(path = "/games/players/{gamePlayerId}/salvos", method = RequestMethod.POST)
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> addSalvoes(@PathVariable Long gamePlayerId,
+                                                                             @RequestBody Salvo salvo,
+                                                                             @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                                             Authentication authentication,
+                                                                             HttpServletRequest request) {
+        if (isGuest(authentication)) {
+            return CompletableFuture.completedFuture(new ResponseEntity<>
+                    (makeMap("error", "There is no current user logged in"), HttpStatus.UNAUTHORIZED));
         }
-        return opponent;
-    }
-
-    private List<Map<String, Object>> getAllHits(GamePlayer gamePlayer) {
-        List<Map<String, Object>> listaDeDTO = new ArrayList<>();
-
-        int carrierDMG = 0, battleshipDMG = 0, submarineDMG = 0, destroyerDMG = 0, patrolboatDMG = 0;
-        for (Salvo salvo : gamePlayer.getSalvos()) {
-            int carrierHIT = 0, battleshipHIT = 0, submarineHIT = 0, destroyerHIT = 0, patrolboatHIT = 0;
-            List<String> hitLocations = new ArrayList<>();
-            for (Ship ship : getOpponent(gamePlayer).getShips()) {
-                List<String> hits = new ArrayList<>(salvo.getSalvoLocations());
-                hits.retainAll(ship.getLocations());
-                int shots = hits.size();
-                if (shots != 0) {
-                    hitLocations.addAll(hits);
-                    switch (ship.getType()) {
-                        case "carrier":
-                            carrierHIT += shots;
-                            carrierDMG += shots;
-                            break;
-                        case "battleship":
-                            battleshipHIT += shots;
-                            battleshipDMG += shots;
-                            break;
-                        case "submarine":
-                            submarineHIT += shots;
-                            submarineDMG += shots;
-                            break;
-                        case "destroyer":
-                            destroyerHIT += shots;
-                            destroyerDMG += shots;
-                            break;
-                        case "patrolboat":
-                            patrolboatHIT += shots;
-                            patrolboatDMG += shots;
-                            break;
-                    }
-                }
-            }
-            Map<String, Object> dto = new LinkedHashMap<String, Object>();
-            dto.put("turn", salvo.getTurn());
-            dto.put("hitLocations", hitLocations);
-            dto.put("damages", getDamageDTO(carrierHIT, carrierDMG, battleshipHIT, battleshipDMG,
-                    submarineHIT, submarineDMG, destroyerHIT, destroyerDMG, patrolboatHIT, patrolboatDMG));
-            dto.put("missed", salvo.getSalvoLocations().size() - hitLocations.size());
-            listaDeDTO.add(dto);
+        if (idempotencyKey != null) {
+            return idempotent(request, authentication, idempotencyKey, salvoPayload(salvo),
+                    () -> submitSalvo(gamePlayerId, salvo, authentication));
         }
-        return listaDeDTO;
+        return submitSalvo(gamePlayerId, salvo, authentication);
     }
 
-    private String getGameState(GamePlayer gamePlayer) {
-        final int TOTAL_SHIP = 17;
-        GamePlayer opp = getOpponent(gamePlayer);
-
-
-        if(gamePlayer.getShips().isEmpty()){
-            return "PLACESHIPS";
-        }
-        if(opp == null){
-            return "WAITINGFOROPP";
-        }
-        if(opp.getShips().isEmpty()){
-            return "WAIT";
+    private CompletableFuture<ResponseEntity<Map<String, Object>>> submitSalvo(long gamePlayerId, Salvo salvo,
+                                                                               Authentication authentication) {
+        Long gameId = hotGameService.findGameId(gamePlayerId);
+        if (gameId == null) {
+            return CompletableFuture.completedFuture(new ResponseEntity<>
+                    (makeMap("error", "There is no game player with the given ID"), HttpStatus.UNAUTHORIZED));
         }
 
-        int selfSalvoes = gamePlayer.getSalvos().size(), oppSalvoes = opp.getSalvos().size();
-        if(selfSalvoes <= oppSalvoes && !gameOver(gamePlayer, opp, TOTAL_SHIP)){// && !gameOver(gp)){
-            return "PLAY";
-        }
-        if (selfSalvoes > oppSalvoes && !gameOver(gamePlayer, opp, TOTAL_SHIP)){
-            return "WAIT";
+        PlayerCacheService.CachedPlayer player = currentPlayer(authentication);
+        if (player == null) {
+            return CompletableFuture.completedFuture(new ResponseEntity<>
+                    (makeMap("error", "There is no current user logged in"), HttpStatus.UNAUTHORIZED));
         }
 
-        int totOpp = getTotal(opp), totSelf = getTotal(gamePlayer);
-        if(totOpp == TOTAL_SHIP && totSelf < TOTAL_SHIP){
-            return "WON";
-        }
+        long playerId = player.getId();
+        return gameCommandService.submit(gameId, () -> fireSalvo(gameId, gamePlayerId, playerId, salvo));
+    }
 
-        if(totOpp == TOTAL_SHIP && totSelf == TOTAL_SHIP){
-            return "TIE";
-        }
-        return "LOST";
+    private ResponseEntity<Map<String, Object>> fireSalvo(long gameId, long gamePlayerId, long playerId, Salvo salvo) {
+        // las validaciones se hacen sobre el game del cache
+        HotGame game = hotGameService.get(gameId);
+        HotGame.Seat seat = game.getSeat(gamePlayerId);
 
-    }
+        if (seat == null || seat.getPlayerId() != playerId) {
+            return new ResponseEntity<>(makeMap("error", "The current player is not the game player the ID references"),
+                    HttpStatus.UNAUTHORIZED);
+        }
 
-    private boolean gameOver(GamePlayer gp, GamePlayer opp, int largo) {
-        if(getTotal(gp) == largo || getTotal(opp) == largo){
-            return true;
+        if (game.isFinished()) {
+            return new ResponseEntity<>(makeMap("error", "The game is over"), HttpStatus.FORBIDDEN);
         }
-        return false;
-    }
 
-    private int getTotal(GamePlayer gp) {
-        GamePlayer opp = getOpponent(gp);
-        List<String> ships = new ArrayList<>();
-        List<String> salvoes = new ArrayList<>();
-        for (Ship ship: gp.getShips()) {
-            ships.addAll(ship.getLocations());
+        HotGame.Seat opponent = game.getOpponent(gamePlayerId);
+        List<SalvoDTO> salvoes = seat.getSalvoes();
+
+        // el salvo en si: el turno (si viene) es el siguiente, de 1 a 5 celdas distintas de la grilla
+        String invalid = invalidSalvo(salvo, salvoes.size() + 1);
+        if (invalid != null) {
+            return new ResponseEntity<>(makeMap("error", invalid), HttpStatus.FORBIDDEN);
         }
-        for (Salvo salvo: getOpponent(gp).getSalvos()) {
-            salvoes.addAll(salvo.getSalvoLocations());
+        if (opponent == null) {
+            return new ResponseEntity<>(makeMap("error", "There is no opponent to fire at yet"), HttpStatus.FORBIDDEN);
         }
 
-        ships.retainAll(salvoes);
-        int total = ships.size();
-        return total;
-    }
-    private List<Map<String, Object>> getSunks(GamePlayer gamePlayer) {
-        List<Map<String, Object>> dto = new ArrayList<>();
-        for (Salvo salvo : gamePlayer.getSalvos()) {
-            List<String> hitLocations = new ArrayList<>();
-            for (Ship ship : getOpponent(gamePlayer).getShips()) {
-                List<String> hits = new ArrayList<>(salvo.getSalvoLocations());
-                hits.retainAll(ship.getLocations());
-                int shots = hits.size();
-                if (shots != 0) {
-                    hitLocations.addAll(hits);
-                }
+        for (SalvoDTO salvoX : salvoes) {
+            if (salvo.getTurn() == salvoX.getTurn() || salvoes.size() > opponent.getSalvoes().size()) {
+                return new ResponseEntity<>
+                        (makeMap("error", "The player already has submitted a salvo for the turn listed"),
+                                HttpStatus.FORBIDDEN);
             }
         }
 
-        return dto;
+        // el salvo se guarda con una referencia al gamePlayer, sin cargarlo
+        Salvo saved = salvoRepository.save(new Salvo(salvoes.size() + 1,
+                gamePlayerRepository.getOne(gamePlayerId), salvo.getSalvoLocations()));
+        gameRepository.bumpVersion(gameId);
+        long version = gameRepository.findVersion(gameId);
+
+        // si este salvo termina el game se marca en la misma transaccion; los scores se guardan despues
+        HotGame fired = firedGame(game, gamePlayerId, saved, version);
+        Date finishDate = fired.isFinished() ? new Date() : null;
+        if (finishDate != null) {
+            gameRepository.markFinished(gameId, finishDate);
+        }
+        gameCommandService.afterCommit(() -> {
+            hotGameService.salvoFired(gameId, gamePlayerId, saved, version);
+            turnLogService.salvoFired(gameId, version, gamePlayerId, saved);
+            gameEventService.publish(gameId, "salvo");
+            GameMetrics.SALVOS_FIRED.increment();
+            if (finishDate != null) {
+                scoreService.gameFinished(fired, finishDate);
+                GameMetrics.GAMES_FINISHED.increment();
+            } else if (opponent != null && botService.isBot(opponent.getPlayerId())) {
+                // el bot responde con el comando siguiente del buzon; no cuenta para esta request
+                RequestStatistics.with(null, () -> gameCommandService.submit(gameId,
+                        () -> botSalvo(gameId, opponent.getGamePlayerId())));
+            }
+        });
+        return new ResponseEntity<>(makeMap("OK", "Salvoes save"), HttpStatus.CREATED);
     }
-/*
-    // Hits dto
-    public List<Map<String, Object>> makeHitsDTO(GamePlayer gamePlayer) {
-        List<Map<String, Object>> list = new ArrayList<>();
-        long
-                destroyerDemage = 0,
-                carrierDemage = 0,
-                battleshipDemage = 0,
-                submarineDemage = 0,
-                patrolboatDemage = 0;
 
-        for (Salvo salvo : getOpponent(gamePlayer).getSalvos()) {
-            long
-                    carrieHits = 0,
-                    battleshipHits = 0,
-                    submarineHits = 0,
-                    destroyerHits = 0,
-                    patrolboatHits = 0;
-
-
-            Map<String, Object> dto = new LinkedHashMap<String, Object>();
-            Map<String, Object> demageDto = new LinkedHashMap<>();
+    // Motivo por el que el salvo no se puede disparar en el turno next, o null si es valido
+    private static String invalidSalvo(Salvo salvo, int next) {
+        if (salvo.getTurn() != 0 && salvo.getTurn() != next) {
+            return "The salvo is not for the current turn";
+        }
+        Set<String> cells = salvo.getSalvoLocations();
+        if (cells == null || cells.isEmpty() || cells.size() > Targeting.SALVO_SIZE) {
+            return "A salvo must have between 1 and " + Targeting.SALVO_SIZE + " cells";
+        }
+        for (String cell : cells) {
+            if (Bitboard.index(cell) < 0) {
+                return "Invalid cell: " + cell;
+            }
+        }
+        if (Bitboard.of(cells).count() != cells.size()) {
+            return "A salvo cannot repeat a cell";
+        }
+        return null;
+    }
 
-            dto.put("turn", salvo.getTurn());
-            dto.put("hitLocations", getHitsLocations(gamePlayer, salvo));
-            dto.put("damages", demageDto);
-            dto.put("missed", salvo.getSalvoLocations().size() - getHitsLocations(gamePlayer, salvo).size());
+    // Foto del game con el salvo nuevo: desde la del cache si es la anterior a este salvo,
+    // si no desde la base (con el salvo ya guardado)
+    private HotGame firedGame(HotGame game, long gamePlayerId, Salvo saved, long version) {
+        HotGame fired = game.getVersion() == version - 1 ? game.withSalvo(gamePlayerId, saved, version) : null;
+        if (fired != null) {
+            return fired;
+        }
+        salvoRepository.flush();
+        return HotGame.of(gameRepository.findById(game.getId()).get(), version);
+    }
 
-            demageDto.put("carrierHits", getHitsType(gamePlayer, salvo, "Carrier"));
-            demageDto.put("battleshipHits", getHitsType(gamePlayer, salvo, "Cattleship"));
-            demageDto.put("submarineHits", getHitsType(gamePlayer, salvo, "Submarine"));
-            demageDto.put("destroyerHits", getHitsType(gamePlayer, salvo, "Destroyer"));
-            demageDto.put("patrolboatHits", getHitsType(gamePlayer, salvo, "Patrol Boat"));
+    // Tabla de clasificasiones, por paginas desde el primer puesto
+    @RequestMapping("/leaderBoard")
+    private List<LeaderBoardDTO> getLeaderBoard(@RequestParam(defaultValue = "0") int page,
+                                                @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.max(1, Math.min(size, LEADERBOARD_MAX_PAGE_SIZE));
+        return GameMetrics.DTO_LEADERBOARD.record(() -> leaderBoardService.getTop(Math.max(0, page), pageSize)
+                .stream()
+                .map(standing -> new LeaderBoardDTO(standing, leaderBoardService.getRank(standing), null))
+                .collect(Collectors.toList()));
+    }
 
-            demageDto.put("carrier", carrierDemage + getHitsType(gamePlayer, salvo, "Carrier"));
-            demageDto.put("battleship", battleshipDemage + getHitsType(gamePlayer, salvo, "Battleship"));
-            demageDto.put("submarine", submarineDemage + getHitsType(gamePlayer, salvo, "Submarine"));
-            demageDto.put("destroyer", destroyerDemage + getHitsType(gamePlayer, salvo, "Destroyer"));
-            demageDto.put("patrolboat", patrolboatDemage + getHitsType(gamePlayer, salvo, "Patrol Boat"));
+    // Puesto del usuario en la tabla de clasificasiones
+    @RequestMapping("/leaderBoard/me")
+    private ResponseEntity<Object> getMyRank(Authentication authentication) {
+        if (isGuest(authentication)) {
+            return new ResponseEntity<>(makeMap("error", "No player logged in"), HttpStatus.UNAUTHORIZED);
+        }
 
-            list.add(dto);
+        PlayerCacheService.CachedPlayer player = currentPlayer(authentication);
+        LeaderBoardService.Standing standing = player == null ? null : leaderBoardService.getStanding(player.getId());
+        if (standing == null) {
+            return new ResponseEntity<>(makeMap("error", "No such player"), HttpStatus.NOT_FOUND);
         }
 
-        return list;
+        return new ResponseEntity<>(new LeaderBoardDTO(standing, leaderBoardService.getRank(standing),
+                leaderBoardService.getTotalPlayers()), HttpStatus.OK);
     }
 
- */
-
-    // Hits Type
-    private long getHitsType(GamePlayer gamePlayer, Salvo salvo, String type) {
-        List<String> ships = gamePlayer.getShips()
-                .stream()
-                .filter(ship -> ship.getType() == type)
-                .flatMap(ship -> ship.getLocations().stream())
-                .collect(toList());
-        ships.retainAll(salvo.getSalvoLocations());
+    /* ======================= GamePlayer DTOs ======================= */
 
-        if (ships.size() == 0) {
-            return 0;
+    private HitsDTO getHitsDTO(HotGame game, HotGame.Seat seat) {
+        HotGame.Seat opponent = game.getOpponent(seat.getGamePlayerId());
 
+        if (opponent != null) {
+            return new HitsDTO(getAllHits(opponent.getState()), getAllHits(seat.getState()));
         }
-        return ships.size();
+        return new HitsDTO(Collections.<TurnHitsDTO>emptyList(), Collections.<TurnHitsDTO>emptyList());
     }
 
-    // Hits Locations
-    private List<String> getHitsLocations(GamePlayer gamePlayer, Salvo salvo) {
-        List<String> ships = gamePlayer.getShips()
-                .stream()
-                .flatMap(ship -> ship.getLocations().stream())
-                .collect(toList());
-        ships.retainAll(salvo.getSalvoLocations());
-        return ships;
+    // Hits de los salvos del gamePlayer contra la flota del oponente, turno por turno
+    private List<TurnHitsDTO> getAllHits(CombatState combatState) {
+        List<TurnHitsDTO> listaDeDTO = new ArrayList<>(combatState.getTurns().size());
+
+        for (TurnResult result : combatState.getTurns()) {
+            listaDeDTO.add(new TurnHitsDTO(result));
+        }
+        return listaDeDTO;
     }
 
     /*  ======================= Game DTOs ======================= */
 
-    // Game dto
-    public Map<String, Object> makeGameDTO(Game game) {
-        Map<String, Object> dto = new LinkedHashMap<String, Object>();
-        dto.put("id", game.getId());
-        dto.put("created", game.getCreationDate());
-        dto.put("gamePlayers", getAllGamePlayers(game.getGamePlayers()));
-        dto.put("scores", getAllScore(game.getScores()));
-        return dto;
+    // Game dto a partir de las filas del lobby de un game (una por gamePlayer) y sus scores
+    public GameDTO makeGameDTO(List<LobbyRow> rows, List<LobbyScoreRow> scoreRows) {
+        List<GamePlayerDTO> gamePlayers = new ArrayList<>(rows.size());
+        for (LobbyRow row : rows) {
+            if (row.getGamePlayerId() != null) {
+                gamePlayers.add(GamePlayerDTO.of(row));
+            }
+        }
+        List<ScoreDTO> scores = new ArrayList<>(scoreRows.size());
+        for (LobbyScoreRow row : scoreRows) {
+            scores.add(ScoreDTO.of(row));
+        }
+        return new GameDTO(rows.get(0).getGameId(), rows.get(0).getCreated(), gamePlayers, scores);
     }
 
     // Lista de dtos de todos los gamePlayers
-    private List<Map<String, Object>> getAllGamePlayers(Set<GamePlayer> gamePlayers) {
-        return gamePlayers
+    private List<GamePlayerDTO> getAllGamePlayers(List<HotGame.Seat> seats) {
+        return seats
                 .stream()
-                .map(gamePlayer -> gamePlayer.getGamePlayerDTO())
+                .map(HotGame.Seat::getGamePlayer)
                 .collect(Collectors.toList());
     }
 
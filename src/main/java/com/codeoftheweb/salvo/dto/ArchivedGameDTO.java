@@ -0,0 +1,52 @@
+package com.codeoftheweb.salvo.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Date;
+import java.util.List;
+
+/* Documento de un game archivado: sus gamePlayers con ships y salvos, y sus scores */
+@JsonPropertyOrder({"id", "created", "finished", "gamePlayers", "scores"})
+public final class ArchivedGameDTO {
+
+    /* ======================= Atributos ======================= */
+
+    private final long id;
+    private final Date created;
+    private final Date finished;
+    private final List<ArchivedGamePlayerDTO> gamePlayers;
+    private final List<ScoreDTO> scores;
+
+    /* ======================= Constructor ======================= */
+
+    public ArchivedGameDTO(long id, Date created, Date finished, List<ArchivedGamePlayerDTO> gamePlayers,
+                           List<ScoreDTO> scores) {
+        this.id = id;
+        this.created = created;
+        this.finished = finished;
+        this.gamePlayers = gamePlayers;
+        this.scores = scores;
+    }
+
+    /* ======================= Getters ======================= */
+
+    public long getId() {
+        return id;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    public Date getFinished() {
+        return finished;
+    }
+
+    public List<ArchivedGamePlayerDTO> getGamePlayers() {
+        return gamePlayers;
+    }
+
+    public List<ScoreDTO> getScores() {
+        return scores;
+    }
+}
@@ -0,0 +1,71 @@
+package com.codeoftheweb.salvo.dto;
+
+import com.codeoftheweb.salvo.models.GamePlayer;
+import com.codeoftheweb.salvo.models.Salvo;
+import com.codeoftheweb.salvo.models.Ship;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/* DTO de un gamePlayer de un game archivado, con sus ships y sus salvos */
+@JsonPropertyOrder({"id", "player", "joinDate", "ships", "salvoes"})
+public final class ArchivedGamePlayerDTO {
+
+    /* ======================= Atributos ======================= */
+
+    private final long id;
+    private final PlayerDTO player;
+    private final Date joinDate;
+    private final List<ShipDTO> ships;
+    private final List<SalvoDTO> salvoes;
+
+    /* ======================= Constructor ======================= */
+
+    public ArchivedGamePlayerDTO(long id, PlayerDTO player, Date joinDate, List<ShipDTO> ships,
+                                 List<SalvoDTO> salvoes) {
+        this.id = id;
+        this.player = player;
+        this.joinDate = joinDate;
+        this.ships = ships;
+        this.salvoes = salvoes;
+    }
+
+    public static ArchivedGamePlayerDTO of(GamePlayer gamePlayer) {
+        long playerId = gamePlayer.getPlayer().getId();
+        List<ShipDTO> ships = new ArrayList<>(gamePlayer.getShips().size());
+        for (Ship ship : gamePlayer.getShips()) {
+            ships.add(ShipDTO.of(ship));
+        }
+        List<SalvoDTO> salvoes = new ArrayList<>(gamePlayer.getSalvos().size());
+        for (Salvo salvo : gamePlayer.getSalvos()) {
+            salvoes.add(SalvoDTO.of(salvo, playerId));
+        }
+        salvoes.sort((a, b) -> Integer.compare(a.getTurn(), b.getTurn()));
+        return new ArchivedGamePlayerDTO(gamePlayer.getId(), PlayerDTO.of(gamePlayer.getPlayer()),
+                gamePlayer.getJoinDate(), ships, salvoes);
+    }
+
+    /* ======================= Getters ======================= */
+
+    public long getId() {
+        return id;
+    }
+
+    public PlayerDTO getPlayer() {
+        return player;
+    }
+
+    public Date getJoinDate() {
+        return joinDate;
+    }
+
+    public List<ShipDTO> getShips() {
+        return ships;
+    }
+
+    public List<SalvoDTO> getSalvoes() {
+        return salvoes;
+    }
+}
@@ -0,0 +1,75 @@
+package com.codeoftheweb.salvo.dto;
+
+import com.codeoftheweb.salvo.engine.ShipType;
+import com.codeoftheweb.salvo.engine.TurnResult;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/* Hits del turno y daño acumulado por tipo de ship: {"carrierHits": n, ..., "carrier": n, ...}
+ * Las claves dependen de ShipType, por eso se escribe con un serializer propio
+ * con los nombres ya codificados */
+@JsonSerialize(using = DamageDTO.Serializer.class)
+public final class DamageDTO {
+
+    /* ======================= Atributos ======================= */
+
+    private final TurnResult result;
+
+    /* ======================= Constructor ======================= */
+
+    public DamageDTO(TurnResult result) {
+        this.result = result;
+    }
+
+    /* ======================= Getters ======================= */
+
+    public int getHits(ShipType type) {
+        return result.getHits(type);
+    }
+
+    public int getDamage(ShipType type) {
+        return result.getDamage(type);
+    }
+
+    /* ======================= Serializer ======================= */
+
+    public static final class Serializer extends StdSerializer<DamageDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final ShipType[] TYPES = ShipType.values();
+        private static final SerializableString[] HITS = new SerializableString[TYPES.length];
+        private static final SerializableString[] DAMAGE = new SerializableString[TYPES.length];
+
+        static {
+            for (ShipType type : TYPES) {
+                HITS[type.ordinal()] = new SerializedString(type.getKey() + "Hits");
+                DAMAGE[type.ordinal()] = new SerializedString(type.getKey());
+            }
+        }
+
+        public Serializer() {
+            super(DamageDTO.class);
+        }
+
+        @Override
+        public void serialize(DamageDTO value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            for (ShipType type : TYPES) {
+                gen.writeFieldName(HITS[type.ordinal()]);
+                gen.writeNumber(value.getHits(type));
+            }
+            for (ShipType type : TYPES) {
+                gen.writeFieldName(DAMAGE[type.ordinal()]);
+                gen.writeNumber(value.getDamage(type));
+            }
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.codeoftheweb.salvo.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Date;
+import java.util.List;
+
+/* DTO de un game del lobby con sus gamePlayers y scores */
+@JsonPropertyOrder({"id", "created", "gamePlayers", "scores"})
+public final class GameDTO {
+
+    /* ======================= Atributos ======================= */
+
+    private final long id;
+    private final Date created;
+    private final List<GamePlayerDTO> gamePlayers;
+    private final List<ScoreDTO> scores;
+
+    /* ======================= Constructor ======================= */
+
+    public GameDTO(long id, Date created, List<GamePlayerDTO> gamePlayers, List<ScoreDTO> scores) {
+        this.id = id;
+        this.created = created;
+        this.gamePlayers = gamePlayers;
+        this.scores = scores;
+    }
+
+    /* ======================= Getters ======================= */
+
+    public long getId() {
+        return id;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    public List<GamePlayerDTO> getGamePlayers() {
+        return gamePlayers;
+    }
+
+    public List<ScoreDTO> getScores() {
+        return scores;
+    }
+}
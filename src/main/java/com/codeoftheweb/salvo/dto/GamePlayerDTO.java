@@ -0,0 +1,50 @@
+package com.codeoftheweb.salvo.dto;
+
+import com.codeoftheweb.salvo.models.GamePlayer;
+import com.codeoftheweb.salvo.repositories.LobbyRow;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Date;
+
+/* DTO de GamePlayer con su player */
+@JsonPropertyOrder({"id", "player", "joinDate"})
+public final class GamePlayerDTO {
+
+    /* ======================= Atributos ======================= */
+
+    private final long id;
+    private final PlayerDTO player;
+    private final Date joinDate;
+
+    /* ======================= Constructor ======================= */
+
+    public GamePlayerDTO(long id, PlayerDTO player, Date joinDate) {
+        this.id = id;
+        this.player = player;
+        this.joinDate = joinDate;
+    }
+
+    public static GamePlayerDTO of(GamePlayer gamePlayer) {
+        return new GamePlayerDTO(gamePlayer.getId(), PlayerDTO.of(gamePlayer.getPlayer()), gamePlayer.getJoinDate());
+    }
+
+    // a partir de una fila del lobby que tiene gamePlayer
+    public static GamePlayerDTO of(LobbyRow row) {
+        return new GamePlayerDTO(row.getGamePlayerId(), new PlayerDTO(row.getPlayerId(), row.getEmail()),
+                row.getJoinDate());
+    }
+
+    /* ======================= Getters ======================= */
+
+    public long getId() {
+        return id;
+    }
+
+    public PlayerDTO getPlayer() {
+        return player;
+    }
+
+    public Date getJoinDate() {
+        return joinDate;
+    }
+}
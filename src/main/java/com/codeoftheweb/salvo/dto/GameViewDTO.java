@@ -0,0 +1,64 @@
+package com.codeoftheweb.salvo.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Date;
+import java.util.List;
+
+/* DTO del game visto por uno de sus gamePlayers: sus ships, los salvoes de ambos y los hits */
+@JsonPropertyOrder({"id", "created", "gameState", "gamePlayers", "ships", "salvoes", "hits"})
+public final class GameViewDTO {
+
+    /* ======================= Atributos ======================= */
+
+    private final long id;
+    private final Date created;
+    private final String gameState;
+    private final List<GamePlayerDTO> gamePlayers;
+    private final List<ShipDTO> ships;
+    private final List<SalvoDTO> salvoes;
+    private final HitsDTO hits;
+
+    /* ======================= Constructor ======================= */
+
+    public GameViewDTO(long id, Date created, String gameState, List<GamePlayerDTO> gamePlayers,
+                       List<ShipDTO> ships, List<SalvoDTO> salvoes, HitsDTO hits) {
+        this.id = id;
+        this.created = created;
+        this.gameState = gameState;
+        this.gamePlayers = gamePlayers;
+        this.ships = ships;
+        this.salvoes = salvoes;
+        this.hits = hits;
+    }
+
+    /* ======================= Getters ======================= */
+
+    public long getId() {
+        return id;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    public String getGameState() {
+        return gameState;
+    }
+
+    public List<GamePlayerDTO> getGamePlayers() {
+        return gamePlayers;
+    }
+
+    public List<ShipDTO> getShips() {
+        return ships;
+    }
+
+    public List<SalvoDTO> getSalvoes() {
+        return salvoes;
+    }
+
+    public HitsDTO getHits() {
+        return hits;
+    }
+}
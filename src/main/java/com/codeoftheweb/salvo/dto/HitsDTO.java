@@ -0,0 +1,32 @@
+package com.codeoftheweb.salvo.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+/* Hits recibidos (self) y hechos (opponent) por el gamePlayer, turno por turno */
+@JsonPropertyOrder({"self", "opponent"})
+public final class HitsDTO {
+
+    /* ======================= Atributos ======================= */
+
+    private final List<TurnHitsDTO> self;
+    private final List<TurnHitsDTO> opponent;
+
+    /* ======================= Constructor ======================= */
+
+    public HitsDTO(List<TurnHitsDTO> self, List<TurnHitsDTO> opponent) {
+        this.self = self;
+        this.opponent = opponent;
+    }
+
+    /* ======================= Getters ======================= */
+
+    public List<TurnHitsDTO> getSelf() {
+        return self;
+    }
+
+    public List<TurnHitsDTO> getOpponent() {
+        return opponent;
+    }
+}
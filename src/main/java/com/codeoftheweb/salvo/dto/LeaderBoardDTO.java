@@ -0,0 +1,85 @@
+package com.codeoftheweb.salvo.dto;
+
+import com.codeoftheweb.salvo.services.LeaderBoardService;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/* Fila de la tabla de clasificasiones; players solo se manda en /leaderBoard/me */
+@JsonPropertyOrder({"id", "email", "rank", "score", "players"})
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class LeaderBoardDTO {
+
+    /* ======================= Atributos ======================= */
+
+    private final long id;
+    private final String email;
+    private final int rank;
+    private final Totals score;
+    private final Integer players;
+
+    /* ======================= Constructor ======================= */
+
+    public LeaderBoardDTO(LeaderBoardService.Standing standing, int rank, Integer players) {
+        this.id = standing.getPlayerId();
+        this.email = standing.getEmail();
+        this.rank = rank;
+        this.score = new Totals(standing);
+        this.players = players;
+    }
+
+    /* ======================= Getters ======================= */
+
+    public long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public Totals getScore() {
+        return score;
+    }
+
+    public Integer getPlayers() {
+        return players;
+    }
+
+    /* ======================= Totales ======================= */
+
+    @JsonPropertyOrder({"total", "won", "lost", "tied"})
+    public static final class Totals {
+
+        private final double total;
+        private final long won;
+        private final long lost;
+        private final long tied;
+
+        Totals(LeaderBoardService.Standing standing) {
+            this.total = standing.getTotal();
+            this.won = standing.getWon();
+            this.lost = standing.getLost();
+            this.tied = standing.getTied();
+        }
+
+        public double getTotal() {
+            return total;
+        }
+
+        public long getWon() {
+            return won;
+        }
+
+        public long getLost() {
+            return lost;
+        }
+
+        public long getTied() {
+            return tied;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.codeoftheweb.salvo.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+/* DTO del lobby: el usuario ("Guest" o su PlayerDTO), una pagina de games y el cursor de la siguiente */
+@JsonPropertyOrder({"player", "games", "next"})
+public final class LobbyDTO {
+
+    public static final String GUEST = "Guest";
+
+    /* ======================= Atributos ======================= */
+
+    private final Object player;
+    private final List<GameDTO> games;
+    private final String next;
+
+    /* ======================= Constructor ======================= */
+
+    public LobbyDTO(Object player, List<GameDTO> games, String next) {
+        this.player = player;
+        this.games = games;
+        this.next = next;
+    }
+
+    /* ======================= Getters ======================= */
+
+    public Object getPlayer() {
+        return player;
+    }
+
+    public List<GameDTO> getGames() {
+        return games;
+    }
+
+    public String getNext() {
+        return next;
+    }
+}
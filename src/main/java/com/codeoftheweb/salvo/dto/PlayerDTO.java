@@ -0,0 +1,35 @@
+package com.codeoftheweb.salvo.dto;
+
+import com.codeoftheweb.salvo.models.Player;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/* DTO de Player: id y username */
+@JsonPropertyOrder({"id", "email"})
+public final class PlayerDTO {
+
+    /* ======================= Atributos ======================= */
+
+    private final long id;
+    private final String email;
+
+    /* ======================= Constructor ======================= */
+
+    public PlayerDTO(long id, String email) {
+        this.id = id;
+        this.email = email;
+    }
+
+    public static PlayerDTO of(Player player) {
+        return new PlayerDTO(player.getId(), player.getUserName());
+    }
+
+    /* ======================= Getters ======================= */
+
+    public long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,45 @@
+package com.codeoftheweb.salvo.dto;
+
+import com.codeoftheweb.salvo.models.Salvo;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/* DTO de Salvo: turno, id del player que disparo y ubicaciones */
+@JsonPropertyOrder({"turn", "player", "locations"})
+public final class SalvoDTO {
+
+    /* ======================= Atributos ======================= */
+
+    private final int turn;
+    private final long player;
+    private final List<String> locations;
+
+    /* ======================= Constructor ======================= */
+
+    public SalvoDTO(int turn, long player, List<String> locations) {
+        this.turn = turn;
+        this.player = player;
+        this.locations = locations;
+    }
+
+    // el player se pasa aparte para no recorrer salvo -> gamePlayer -> player en cada salvo
+    public static SalvoDTO of(Salvo salvo, long player) {
+        return new SalvoDTO(salvo.getTurn(), player, new ArrayList<>(salvo.getSalvoLocations()));
+    }
+
+    /* ======================= Getters ======================= */
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public long getPlayer() {
+        return player;
+    }
+
+    public List<String> getLocations() {
+        return locations;
+    }
+}
@@ -0,0 +1,48 @@
+package com.codeoftheweb.salvo.dto;
+
+import com.codeoftheweb.salvo.models.Score;
+import com.codeoftheweb.salvo.repositories.LobbyScoreRow;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Date;
+
+/* DTO de Score: id del player, puntaje y fecha de fin */
+@JsonPropertyOrder({"player", "score", "finishDate"})
+public final class ScoreDTO {
+
+    /* ======================= Atributos ======================= */
+
+    private final long player;
+    private final double score;
+    private final Date finishDate;
+
+    /* ======================= Constructor ======================= */
+
+    public ScoreDTO(long player, double score, Date finishDate) {
+        this.player = player;
+        this.score = score;
+        this.finishDate = finishDate;
+    }
+
+    public static ScoreDTO of(LobbyScoreRow row) {
+        return new ScoreDTO(row.getPlayerId(), row.getScore(), row.getFinishDate());
+    }
+
+    public static ScoreDTO of(Score score) {
+        return new ScoreDTO(score.getPlayer().getId(), score.getScore(), score.getFinishDate());
+    }
+
+    /* ======================= Getters ======================= */
+
+    public long getPlayer() {
+        return player;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public Date getFinishDate() {
+        return finishDate;
+    }
+}
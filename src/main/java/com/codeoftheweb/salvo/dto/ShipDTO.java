@@ -0,0 +1,38 @@
+package com.codeoftheweb.salvo.dto;
+
+import com.codeoftheweb.salvo.models.Ship;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/* DTO de Ship: tipo y ubicaciones */
+@JsonPropertyOrder({"type", "locations"})
+public final class ShipDTO {
+
+    /* ======================= Atributos ======================= */
+
+    private final String type;
+    private final List<String> locations;
+
+    /* ======================= Constructor ======================= */
+
+    public ShipDTO(String type, List<String> locations) {
+        this.type = type;
+        this.locations = locations;
+    }
+
+    public static ShipDTO of(Ship ship) {
+        return new ShipDTO(ship.getType(), new ArrayList<>(ship.getLocations()));
+    }
+
+    /* ======================= Getters ======================= */
+
+    public String getType() {
+        return type;
+    }
+
+    public List<String> getLocations() {
+        return locations;
+    }
+}
@@ -0,0 +1,51 @@
+package com.codeoftheweb.salvo.dto;
+
+import com.codeoftheweb.salvo.engine.TurnResult;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+/* Resultado de un salvo contra la flota del oponente */
+@JsonPropertyOrder({"turn", "hitLocations", "damages", "missed", "sunk"})
+public final class TurnHitsDTO {
+
+    /* ======================= Atributos ======================= */
+
+    private final int turn;
+    private final List<String> hitLocations;
+    private final DamageDTO damages;
+    private final int missed;
+    private final List<String> sunk;
+
+    /* ======================= Constructor ======================= */
+
+    public TurnHitsDTO(TurnResult result) {
+        this.turn = result.getTurn();
+        this.hitLocations = result.getHits().toLocations();
+        this.damages = new DamageDTO(result);
+        this.missed = result.getMissed();
+        this.sunk = result.getSunkKeys();
+    }
+
+    /* ======================= Getters ======================= */
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public List<String> getHitLocations() {
+        return hitLocations;
+    }
+
+    public DamageDTO getDamages() {
+        return damages;
+    }
+
+    public int getMissed() {
+        return missed;
+    }
+
+    public List<String> getSunk() {
+        return sunk;
+    }
+}
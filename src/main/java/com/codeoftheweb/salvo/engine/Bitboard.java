@@ -0,0 +1,151 @@
+package com.codeoftheweb.salvo.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/* Conjunto de celdas de la grilla 10x10 ("A1".."J10") guardado como bits en dos longs.
+ * La celda A1 es el bit 0, A10 el bit 9, B1 el bit 10 ... J10 el bit 99.
+ * Los bits 0-63 van en low y los bits 64-99 en high. */
+public final class Bitboard {
+
+    /* ======================= Atributos ======================= */
+
+    public static final int SIZE = 10;
+    public static final int CELLS = SIZE * SIZE;
+    public static final Bitboard EMPTY = new Bitboard(0L, 0L);
+
+    private static final String ROWS = "ABCDEFGHIJ";
+    private static final long HIGH_MASK = (1L << (CELLS - 64)) - 1;
+
+    private final long low;
+    private final long high;
+
+    /* ======================= Constructor ======================= */
+
+    public Bitboard(long low, long high) {
+        this.low = low;
+        this.high = high & HIGH_MASK;
+    }
+
+    public static Bitboard of(Collection<String> cells) {
+        long low = 0L, high = 0L;
+        if (cells != null) {
+            for (String cell : cells) {
+                int index = index(cell);
+                if (index < 0) {
+                    continue;
+                }
+                if (index < 64) {
+                    low |= 1L << index;
+                } else {
+                    high |= 1L << (index - 64);
+                }
+            }
+        }
+        return new Bitboard(low, high);
+    }
+
+    /* ======================= Celdas ======================= */
+
+    // Indice 0..99 de una celda, o -1 si no es una celda valida de la grilla
+    public static int index(String cell) {
+        if (cell == null || cell.length() < 2 || cell.length() > 3) {
+            return -1;
+        }
+        int row = ROWS.indexOf(Character.toUpperCase(cell.charAt(0)));
+        if (row < 0) {
+            return -1;
+        }
+        int column = 0;
+        for (int i = 1; i < cell.length(); i++) {
+            char c = cell.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            column = column * 10 + (c - '0');
+        }
+        if (column < 1 || column > SIZE) {
+            return -1;
+        }
+        return row * SIZE + column - 1;
+    }
+
+    public static String cell(int index) {
+        return ROWS.charAt(index / SIZE) + Integer.toString(index % SIZE + 1);
+    }
+
+    /* ======================= Operaciones ======================= */
+
+    public Bitboard and(Bitboard other) {
+        return new Bitboard(low & other.low, high & other.high);
+    }
+
+    public Bitboard or(Bitboard other) {
+        return new Bitboard(low | other.low, high | other.high);
+    }
+
+    public Bitboard andNot(Bitboard other) {
+        return new Bitboard(low & ~other.low, high & ~other.high);
+    }
+
+    public boolean intersects(Bitboard other) {
+        return (low & other.low) != 0 || (high & other.high) != 0;
+    }
+
+    // true si todas las celdas de other estan en este bitboard
+    public boolean containsAll(Bitboard other) {
+        return (other.low & ~low) == 0 && (other.high & ~high) == 0;
+    }
+
+    public boolean contains(int index) {
+        return index < 64 ? (low >>> index & 1L) != 0 : (high >>> (index - 64) & 1L) != 0;
+    }
+
+    public int count() {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+
+    public boolean isEmpty() {
+        return low == 0 && high == 0;
+    }
+
+    public List<String> toLocations() {
+        List<String> locations = new ArrayList<>(count());
+        for (long bits = low; bits != 0; bits &= bits - 1) {
+            locations.add(cell(Long.numberOfTrailingZeros(bits)));
+        }
+        for (long bits = high; bits != 0; bits &= bits - 1) {
+            locations.add(cell(64 + Long.numberOfTrailingZeros(bits)));
+        }
+        return locations;
+    }
+
+    /* ======================= Getters ======================= */
+
+    public long getLow() {
+        return low;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Bitboard)) return false;
+        Bitboard other = (Bitboard) o;
+        return low == other.low && high == other.high;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(low) * 31 + Long.hashCode(high);
+    }
+
+    @Override
+    public String toString() {
+        return toLocations().toString();
+    }
+}
@@ -0,0 +1,135 @@
+package com.codeoftheweb.salvo.engine;
+
+import com.codeoftheweb.salvo.models.GamePlayer;
+import com.codeoftheweb.salvo.models.Salvo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/* Estado de combate materializado de un gamePlayer: los turnos ya resueltos de sus salvos
+ * contra la flota del oponente, el danio acumulado, los barcos hundidos y el estado del juego.
+ * Es inmutable, cada salvo nuevo devuelve otro CombatState. */
+public final class CombatState {
+
+    /* ======================= Atributos ======================= */
+
+    private final long gamePlayerId;
+    private final Long opponentId;
+    private final boolean ships;
+    private final Fleet target;
+    private final Bitboard shots;
+    private final List<TurnResult> turns;
+    private final GameState state;
+
+    /* ======================= Constructor ======================= */
+
+    private CombatState(long gamePlayerId, Long opponentId, boolean ships, Fleet target, Bitboard shots,
+                        List<TurnResult> turns, GameState state) {
+        this.gamePlayerId = gamePlayerId;
+        this.opponentId = opponentId;
+        this.ships = ships;
+        this.target = target;
+        this.shots = shots;
+        this.turns = turns;
+        this.state = state;
+    }
+
+    // Reconstruye el estado desde el historial completo del gamePlayer (opponent puede ser null)
+    public static CombatState of(GamePlayer gamePlayer, GamePlayer opponent) {
+        boolean ships = !gamePlayer.getShips().isEmpty();
+        if (opponent == null) {
+            return new CombatState(gamePlayer.getId(), null, ships, Fleet.EMPTY, Bitboard.EMPTY,
+                    Collections.<TurnResult>emptyList(), null);
+        }
+        Fleet target = Fleet.of(opponent.getShips());
+        List<TurnResult> turns = HitResolver.resolve(target, gamePlayer.getSalvos());
+        return new CombatState(gamePlayer.getId(), opponent.getId(), ships, target,
+                HitResolver.shots(gamePlayer.getSalvos()), Collections.unmodifiableList(turns), null);
+    }
+
+    /* ======================= Metodos ======================= */
+
+    // Resuelve un salvo nuevo sobre el estado actual, sin recorrer los turnos anteriores
+    public CombatState fire(Salvo salvo) {
+        Bitboard salvoMask = Bitboard.of(salvo.getSalvoLocations());
+        Bitboard allShots = shots.or(salvoMask);
+        int[] damage = new int[ShipType.values().length];
+        if (!turns.isEmpty()) {
+            TurnResult last = turns.get(turns.size() - 1);
+            for (ShipType type : ShipType.values()) {
+                damage[type.ordinal()] = last.getDamage(type);
+            }
+        }
+
+        List<TurnResult> next = new ArrayList<>(turns.size() + 1);
+        next.addAll(turns);
+        next.add(HitResolver.resolveTurn(target, salvo.getTurn(), salvoMask, salvo.getSalvoLocations().size(),
+                allShots, damage));
+        return new CombatState(gamePlayerId, opponentId, ships, target, allShots,
+                Collections.unmodifiableList(next), state);
+    }
+
+    public CombatState withState(GameState state) {
+        return new CombatState(gamePlayerId, opponentId, ships, target, shots, turns, state);
+    }
+
+    // Estado del juego visto por self, a partir de los dos estados de combate
+    public static GameState stateOf(CombatState self, CombatState opponent) {
+        if (opponent == null) {
+            return GameState.of(self.ships, false, false, 0, 0, 0, 0);
+        }
+        return GameState.of(self.ships, true, opponent.ships,
+                self.getSalvoes(), opponent.getSalvoes(),
+                opponent.getDamageDealt(), self.getDamageDealt());
+    }
+
+    /* ======================= Getters ======================= */
+
+    public long getGamePlayerId() {
+        return gamePlayerId;
+    }
+
+    public Long getOpponentId() {
+        return opponentId;
+    }
+
+    public boolean hasShips() {
+        return ships;
+    }
+
+    public List<TurnResult> getTurns() {
+        return turns;
+    }
+
+    public int getSalvoes() {
+        return turns.size();
+    }
+
+    // Celdas de la flota enemiga alcanzadas por todos los salvos de este gamePlayer
+    public int getDamageDealt() {
+        return target.damage(shots);
+    }
+
+    public int getDamage(ShipType type) {
+        return turns.isEmpty() ? 0 : turns.get(turns.size() - 1).getDamage(type);
+    }
+
+    public List<ShipType> getSunk() {
+        return turns.isEmpty() ? Collections.<ShipType>emptyList() : turns.get(turns.size() - 1).getSunk();
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    // Lo que sabe el gamePlayer de la flota enemiga, para Targeting: sus disparos y la flota,
+    // de la que solo se usan las celdas alcanzadas y los barcos ya hundidos
+    Bitboard getShots() {
+        return shots;
+    }
+
+    Fleet getTarget() {
+        return target;
+    }
+}
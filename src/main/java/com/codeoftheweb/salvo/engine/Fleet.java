@@ -0,0 +1,63 @@
+package com.codeoftheweb.salvo.engine;
+
+import com.codeoftheweb.salvo.models.Ship;
+
+import java.util.Collection;
+
+/* Flota de un gamePlayer en bitboards: una mascara por tipo de barco y una con toda la flota */
+public final class Fleet {
+
+    public static final Fleet EMPTY = new Fleet(new Bitboard[ShipType.values().length], Bitboard.EMPTY);
+
+    private final Bitboard[] byType;
+    private final Bitboard all;
+
+    private Fleet(Bitboard[] byType, Bitboard all) {
+        this.byType = byType;
+        this.all = all;
+    }
+
+    public static Fleet of(Collection<Ship> ships) {
+        if (ships == null || ships.isEmpty()) {
+            return EMPTY;
+        }
+        Bitboard[] byType = new Bitboard[ShipType.values().length];
+        Bitboard all = Bitboard.EMPTY;
+        for (Ship ship : ships) {
+            Bitboard mask = Bitboard.of(ship.getLocations());
+            all = all.or(mask);
+            ShipType type = ShipType.of(ship.getType());
+            if (type != null) {
+                Bitboard current = byType[type.ordinal()];
+                byType[type.ordinal()] = current == null ? mask : current.or(mask);
+            }
+        }
+        return new Fleet(byType, all);
+    }
+
+    /* ======================= Getters ======================= */
+
+    public Bitboard getAll() {
+        return all;
+    }
+
+    public Bitboard get(ShipType type) {
+        Bitboard mask = byType[type.ordinal()];
+        return mask == null ? Bitboard.EMPTY : mask;
+    }
+
+    public boolean isEmpty() {
+        return all.isEmpty();
+    }
+
+    // Celdas de la flota alcanzadas por los disparos
+    public int damage(Bitboard shots) {
+        return all.and(shots).count();
+    }
+
+    // Un barco esta hundido cuando todas sus celdas recibieron un disparo
+    public boolean isSunk(ShipType type, Bitboard shots) {
+        Bitboard mask = byType[type.ordinal()];
+        return mask != null && shots.containsAll(mask);
+    }
+}
@@ -0,0 +1,45 @@
+package com.codeoftheweb.salvo.engine;
+
+/* Estados del juego que ve cada gamePlayer en el game_view */
+public enum GameState {
+
+    PLACESHIPS,
+    WAITINGFOROPP,
+    WAIT,
+    PLAY,
+    WON,
+    TIE,
+    LOST;
+
+    /* selfDamage: celdas propias alcanzadas por el oponente
+     * oppDamage: celdas del oponente alcanzadas por el gamePlayer */
+    public static GameState of(boolean selfShips, boolean hasOpponent, boolean oppShips,
+                               int selfSalvoes, int oppSalvoes, int selfDamage, int oppDamage) {
+        if (!selfShips) {
+            return PLACESHIPS;
+        }
+        if (!hasOpponent) {
+            return WAITINGFOROPP;
+        }
+        if (!oppShips) {
+            return WAIT;
+        }
+
+        boolean gameOver = HitResolver.isFleetDestroyed(selfDamage) || HitResolver.isFleetDestroyed(oppDamage);
+        if (!gameOver) {
+            return selfSalvoes <= oppSalvoes ? PLAY : WAIT;
+        }
+
+        if (HitResolver.isFleetDestroyed(oppDamage) && !HitResolver.isFleetDestroyed(selfDamage)) {
+            return WON;
+        }
+        if (HitResolver.isFleetDestroyed(oppDamage) && HitResolver.isFleetDestroyed(selfDamage)) {
+            return TIE;
+        }
+        return LOST;
+    }
+
+    public boolean isFinished() {
+        return this == WON || this == TIE || this == LOST;
+    }
+}
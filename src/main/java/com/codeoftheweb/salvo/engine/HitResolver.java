@@ -0,0 +1,66 @@
+package com.codeoftheweb.salvo.engine;
+
+import com.codeoftheweb.salvo.models.Salvo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/* Resuelve los salvos de un gamePlayer contra la flota del oponente con operaciones de bits:
+ * impactos = salvo AND barco, danio = popcount, hundido = disparos contienen al barco */
+public final class HitResolver {
+
+    // Total de celdas de una flota completa (5 + 4 + 3 + 3 + 2)
+    public static final int TOTAL_SHIP = 17;
+
+    private HitResolver() {
+    }
+
+    public static List<TurnResult> resolve(Fleet target, Collection<Salvo> salvos) {
+        List<Salvo> ordered = new ArrayList<>(salvos);
+        ordered.sort(Comparator.comparingInt(Salvo::getTurn));
+
+        List<TurnResult> results = new ArrayList<>(ordered.size());
+        int[] damage = new int[ShipType.values().length];
+        Bitboard shots = Bitboard.EMPTY;
+        for (Salvo salvo : ordered) {
+            Bitboard salvoMask = Bitboard.of(salvo.getSalvoLocations());
+            shots = shots.or(salvoMask);
+            results.add(resolveTurn(target, salvo.getTurn(), salvoMask, salvo.getSalvoLocations().size(), shots, damage));
+        }
+        return results;
+    }
+
+    /* Resuelve un turno; damage es el danio acumulado por tipo y se actualiza,
+     * shots son todos los disparos hasta este turno inclusive */
+    public static TurnResult resolveTurn(Fleet target, int turn, Bitboard salvoMask, int salvoSize,
+                                         Bitboard shots, int[] damage) {
+        ShipType[] types = ShipType.values();
+        int[] hitsByType = new int[types.length];
+        List<ShipType> sunk = new ArrayList<>(types.length);
+        for (ShipType type : types) {
+            int hits = target.get(type).and(salvoMask).count();
+            hitsByType[type.ordinal()] = hits;
+            damage[type.ordinal()] += hits;
+            if (target.isSunk(type, shots)) {
+                sunk.add(type);
+            }
+        }
+        Bitboard hits = target.getAll().and(salvoMask);
+        return new TurnResult(turn, hits, hitsByType, damage.clone(), salvoSize - hits.count(), sunk);
+    }
+
+    // Todas las celdas disparadas por los salvos
+    public static Bitboard shots(Collection<Salvo> salvos) {
+        Bitboard shots = Bitboard.EMPTY;
+        for (Salvo salvo : salvos) {
+            shots = shots.or(Bitboard.of(salvo.getSalvoLocations()));
+        }
+        return shots;
+    }
+
+    public static boolean isFleetDestroyed(int damage) {
+        return damage == TOTAL_SHIP;
+    }
+}
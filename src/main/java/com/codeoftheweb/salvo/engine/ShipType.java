@@ -0,0 +1,48 @@
+package com.codeoftheweb.salvo.engine;
+
+/* Tipos de barco de la flota y su largo en celdas */
+public enum ShipType {
+
+    CARRIER("carrier", "Carrier", 5),
+    BATTLESHIP("battleship", "Battleship", 4),
+    SUBMARINE("submarine", "Submarine", 3),
+    DESTROYER("destroyer", "Destroyer", 3),
+    PATROLBOAT("patrolboat", "Patrol Boat", 2);
+
+    private final String key;
+    private final String name;
+    private final int length;
+
+    ShipType(String key, String name, int length) {
+        this.key = key;
+        this.name = name;
+        this.length = length;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    // nombre con el que el front end manda el tipo ("Patrol Boat")
+    public String getName() {
+        return name;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    // Acepta "carrier", "Patrol Boat", "patrolboat"... devuelve null si no es un tipo conocido
+    public static ShipType of(String type) {
+        if (type == null) {
+            return null;
+        }
+        String key = type.replace(" ", "").toLowerCase();
+        for (ShipType shipType : values()) {
+            if (shipType.key.equals(key)) {
+                return shipType;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,172 @@
+package com.codeoftheweb.salvo.engine;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/* Punteria del bot por densidad de probabilidad (hunt / target) sobre bitboards.
+ * Para cada barco enemigo todavia a flote se recorren todas sus ubicaciones posibles en la grilla
+ * (precalculadas como mascaras); una ubicacion es posible si no pisa agua ya disparada ni un barco
+ * hundido. Cada ubicacion posible suma a las celdas sin disparar que cubre: 1 si no pasa por
+ * ningun impacto (hunt) y mucho mas por cada impacto de un barco a flote que cubre (target).
+ * El salvo son las celdas de mayor densidad.
+ * Una instancia guarda la densidad y el ultimo salvo: aim no crea objetos, pero no se puede
+ * compartir entre hilos. */
+public final class Targeting {
+
+    /* ======================= Atributos ======================= */
+
+    public static final int SALVO_SIZE = 5;
+
+    // cada impacto cubierto multiplica el peso de la ubicacion por 16
+    private static final int TARGET_SHIFT = 4;
+    private static final ShipType[] TYPES = ShipType.values();
+
+    // ubicaciones (horizontales y verticales) de un barco de cada largo: PLACEMENTS_LOW[largo][i]
+    private static final long[][] PLACEMENTS_LOW = new long[Bitboard.SIZE + 1][];
+    private static final long[][] PLACEMENTS_HIGH = new long[Bitboard.SIZE + 1][];
+
+    static {
+        for (ShipType type : TYPES) {
+            int length = type.getLength();
+            if (PLACEMENTS_LOW[length] != null) {
+                continue;
+            }
+            int count = 2 * Bitboard.SIZE * (Bitboard.SIZE - length + 1);
+            PLACEMENTS_LOW[length] = new long[count];
+            PLACEMENTS_HIGH[length] = new long[count];
+            int i = 0;
+            for (int row = 0; row < Bitboard.SIZE; row++) {
+                for (int column = 0; column + length <= Bitboard.SIZE; column++) {
+                    for (int k = 0; k < length; k++) {
+                        set(PLACEMENTS_LOW[length], PLACEMENTS_HIGH[length], i, row * Bitboard.SIZE + column + k);
+                        set(PLACEMENTS_LOW[length], PLACEMENTS_HIGH[length], i + 1, (column + k) * Bitboard.SIZE + row);
+                    }
+                    i += 2;
+                }
+            }
+        }
+    }
+
+    private final int[] density = new int[Bitboard.CELLS];
+    private long salvoLow;
+    private long salvoHigh;
+
+    /* ======================= Punteria ======================= */
+
+    // Elige el proximo salvo del gamePlayer con lo que sabe de la flota enemiga; devuelve cuantas celdas tiene
+    public int aim(CombatState state) {
+        Bitboard shots = state.getShots();
+        Fleet target = state.getTarget();
+        long hitsLow = shots.getLow() & target.getAll().getLow();
+        long hitsHigh = shots.getHigh() & target.getAll().getHigh();
+
+        // un barco hundido se revela: sus celdas ya no son impactos abiertos
+        long sunkLow = 0, sunkHigh = 0;
+        int afloat = 0;
+        List<ShipType> sunk = state.getSunk();
+        for (int i = 0; i < sunk.size(); i++) {
+            Bitboard mask = target.get(sunk.get(i));
+            sunkLow |= mask.getLow();
+            sunkHigh |= mask.getHigh();
+        }
+        for (ShipType type : TYPES) {
+            if (!target.get(type).isEmpty() && !sunk.contains(type)) {
+                afloat |= 1 << type.ordinal();
+            }
+        }
+        return aim(shots.getLow(), shots.getHigh(), hitsLow, hitsHigh, sunkLow, sunkHigh, afloat);
+    }
+
+    /* shots: celdas ya disparadas, hits: las que fueron impacto, sunk: celdas de barcos hundidos,
+     * afloat: bit ordinal de cada ShipType que sigue a flote */
+    public int aim(long shotsLow, long shotsHigh, long hitsLow, long hitsHigh,
+                   long sunkLow, long sunkHigh, int afloat) {
+        long blockedLow = (shotsLow & ~hitsLow) | sunkLow;
+        long blockedHigh = (shotsHigh & ~hitsHigh) | sunkHigh;
+        long openLow = hitsLow & ~sunkLow;
+        long openHigh = hitsHigh & ~sunkHigh;
+
+        Arrays.fill(density, 0);
+        for (ShipType type : TYPES) {
+            if ((afloat & 1 << type.ordinal()) == 0) {
+                continue;
+            }
+            long[] low = PLACEMENTS_LOW[type.getLength()];
+            long[] high = PLACEMENTS_HIGH[type.getLength()];
+            for (int i = 0; i < low.length; i++) {
+                if ((low[i] & blockedLow) != 0 || (high[i] & blockedHigh) != 0) {
+                    continue;
+                }
+                int covered = Long.bitCount(low[i] & openLow) + Long.bitCount(high[i] & openHigh);
+                int weight = 1 << covered * TARGET_SHIFT;
+                for (long bits = low[i] & ~shotsLow; bits != 0; bits &= bits - 1) {
+                    density[Long.numberOfTrailingZeros(bits)] += weight;
+                }
+                for (long bits = high[i] & ~shotsHigh; bits != 0; bits &= bits - 1) {
+                    density[64 + Long.numberOfTrailingZeros(bits)] += weight;
+                }
+            }
+        }
+
+        // las celdas de mayor densidad; sin ubicaciones posibles, cualquier celda sin disparar
+        salvoLow = 0;
+        salvoHigh = 0;
+        int size = 0;
+        for (; size < SALVO_SIZE; size++) {
+            int best = -1;
+            for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+                if (!isShot(cell, shotsLow | salvoLow, shotsHigh | salvoHigh)
+                        && (best < 0 || density[cell] > density[best])) {
+                    best = cell;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            if (best < 64) {
+                salvoLow |= 1L << best;
+            } else {
+                salvoHigh |= 1L << (best - 64);
+            }
+        }
+        return size;
+    }
+
+    // Celdas del ultimo salvo elegido
+    public Bitboard getSalvo() {
+        return new Bitboard(salvoLow, salvoHigh);
+    }
+
+    /* ======================= Flota ======================= */
+
+    // Una flota completa al azar, sin barcos superpuestos: la mascara de cada ShipType por ordinal
+    public static Bitboard[] randomFleet(Random random) {
+        Bitboard[] fleet = new Bitboard[TYPES.length];
+        long usedLow = 0, usedHigh = 0;
+        for (ShipType type : TYPES) {
+            long[] low = PLACEMENTS_LOW[type.getLength()];
+            long[] high = PLACEMENTS_HIGH[type.getLength()];
+            int i;
+            do {
+                i = random.nextInt(low.length);
+            } while ((low[i] & usedLow) != 0 || (high[i] & usedHigh) != 0);
+            usedLow |= low[i];
+            usedHigh |= high[i];
+            fleet[type.ordinal()] = new Bitboard(low[i], high[i]);
+        }
+        return fleet;
+    }
+
+    private static boolean isShot(int cell, long low, long high) {
+        return cell < 64 ? (low >>> cell & 1L) != 0 : (high >>> (cell - 64) & 1L) != 0;
+    }
+
+    private static void set(long[] low, long[] high, int placement, int cell) {
+        if (cell < 64) {
+            low[placement] |= 1L << cell;
+        } else {
+            high[placement] |= 1L << (cell - 64);
+        }
+    }
+}
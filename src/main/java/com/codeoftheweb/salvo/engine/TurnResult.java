@@ -0,0 +1,58 @@
+package com.codeoftheweb.salvo.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/* Resultado de un salvo contra la flota enemiga: impactos del turno y danio acumulado por tipo */
+public final class TurnResult {
+
+    private final int turn;
+    private final Bitboard hits;
+    private final int[] hitsByType;
+    private final int[] damageByType;
+    private final int missed;
+    private final List<ShipType> sunk;
+
+    public TurnResult(int turn, Bitboard hits, int[] hitsByType, int[] damageByType, int missed, List<ShipType> sunk) {
+        this.turn = turn;
+        this.hits = hits;
+        this.hitsByType = hitsByType;
+        this.damageByType = damageByType;
+        this.missed = missed;
+        this.sunk = sunk;
+    }
+
+    /* ======================= Getters ======================= */
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public Bitboard getHits() {
+        return hits;
+    }
+
+    public int getHits(ShipType type) {
+        return hitsByType[type.ordinal()];
+    }
+
+    public int getDamage(ShipType type) {
+        return damageByType[type.ordinal()];
+    }
+
+    public int getMissed() {
+        return missed;
+    }
+
+    public List<ShipType> getSunk() {
+        return sunk;
+    }
+
+    public List<String> getSunkKeys() {
+        List<String> keys = new ArrayList<>(sunk.size());
+        for (ShipType type : sunk) {
+            keys.add(type.getKey());
+        }
+        return keys;
+    }
+}
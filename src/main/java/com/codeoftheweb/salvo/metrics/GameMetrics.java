@@ -0,0 +1,64 @@
+package com.codeoftheweb.salvo.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/* Metricas del juego en el registro global de Micrometer (Spring Boot le agrega el de Prometheus):
+ * tiempos del motor y de los DTOs, y contadores de games y salvos.
+ * Son estaticas porque HotGame no es un bean; sin registros (tests, benchmarks) no miden nada. */
+public final class GameMetrics {
+
+    /* ======================= Motor ======================= */
+
+    // hits de todos los turnos de un gamePlayer, al cargar la foto del game desde la base
+    public static final Timer HITS_RESOLVE = Timer.builder("salvo.engine.hits")
+            .description("Hit resolution against the opponent fleet")
+            .tag("op", "resolve")
+            .register(Metrics.globalRegistry);
+
+    // hits de un salvo nuevo sobre el estado de combate anterior
+    public static final Timer HITS_FIRE = Timer.builder("salvo.engine.hits")
+            .description("Hit resolution against the opponent fleet")
+            .tag("op", "fire")
+            .register(Metrics.globalRegistry);
+
+    public static final Timer GAME_STATE = Timer.builder("salvo.engine.state")
+            .description("Game state of a game player from both combat states")
+            .register(Metrics.globalRegistry);
+
+    // proximo salvo del bot por densidad de probabilidad
+    public static final Timer BOT_AIM = Timer.builder("salvo.engine.aim")
+            .description("Bot target selection")
+            .register(Metrics.globalRegistry);
+
+    /* ======================= DTOs ======================= */
+
+    public static final Timer DTO_GAME_VIEW = dtoTimer("game_view");
+    public static final Timer DTO_LOBBY = dtoTimer("lobby");
+    public static final Timer DTO_LEADERBOARD = dtoTimer("leaderboard");
+
+    /* ======================= Contadores ======================= */
+
+    public static final Counter GAMES_CREATED = Counter.builder("salvo.games.created")
+            .register(Metrics.globalRegistry);
+
+    public static final Counter GAMES_JOINED = Counter.builder("salvo.games.joined")
+            .register(Metrics.globalRegistry);
+
+    public static final Counter GAMES_FINISHED = Counter.builder("salvo.games.finished")
+            .register(Metrics.globalRegistry);
+
+    public static final Counter SALVOS_FIRED = Counter.builder("salvo.salvos.fired")
+            .register(Metrics.globalRegistry);
+
+    private GameMetrics() {
+    }
+
+    private static Timer dtoTimer(String dto) {
+        return Timer.builder("salvo.dto")
+                .description("Response DTO building")
+                .tag("dto", dto)
+                .register(Metrics.globalRegistry);
+    }
+}
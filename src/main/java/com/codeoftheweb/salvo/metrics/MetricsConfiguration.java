@@ -0,0 +1,74 @@
+package com.codeoftheweb.salvo.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.Collections;
+
+/* Estadisticas de Hibernate por request (ver RequestStatistics): un StatementInspector cuenta las
+ * sentencias y dos listeners las entidades cargadas y las colecciones inicializadas. */
+@Configuration
+public class MetricsConfiguration {
+
+    private static final String STATEMENT_INSPECTOR = "hibernate.session_factory.statement_inspector";
+
+    // al final: si otro customizer ya puso un StatementInspector, se cuenta y se le sigue pasando el SQL
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public HibernatePropertiesCustomizer requestStatisticsCustomizer() {
+        return properties -> {
+            Object inspector = properties.get(STATEMENT_INSPECTOR);
+            StatementInspector next = inspector instanceof StatementInspector ? (StatementInspector) inspector : null;
+            properties.put(STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                RequestStatistics.statementExecuted();
+                return next == null ? sql : next.inspect(sql);
+            });
+            properties.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> Collections.singletonList(new RequestStatisticsIntegrator()));
+        };
+    }
+
+    // antes que Spring Security: el login tambien es una request
+    @Bean
+    public FilterRegistrationBean<RequestStatisticsFilter> requestStatisticsFilter(MeterRegistry registry) {
+        FilterRegistrationBean<RequestStatisticsFilter> registration =
+                new FilterRegistrationBean<>(new RequestStatisticsFilter(registry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    /* ======================= Listeners ======================= */
+
+    static final class RequestStatisticsIntegrator implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                              SessionFactoryServiceRegistry serviceRegistry) {
+            EventListenerRegistry listeners = serviceRegistry.getService(EventListenerRegistry.class);
+            listeners.appendListeners(EventType.POST_LOAD,
+                    (PostLoadEventListener) event -> RequestStatistics.entityLoaded());
+            listeners.appendListeners(EventType.INIT_COLLECTION,
+                    (InitializeCollectionEventListener) event -> RequestStatistics.collectionFetched());
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                 SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.codeoftheweb.salvo.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/* Lo que Hibernate hizo para una request: sentencias SQL, entidades cargadas y colecciones
+ * inicializadas. Es la del hilo: RequestStatisticsFilter la pone en el hilo de la request y
+ * GameCommandService la lleva al worker del buzon que ejecuta el comando (y su commit). */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    /* ======================= Atributos ======================= */
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicInteger entityLoads = new AtomicInteger();
+    private final AtomicInteger collectionFetches = new AtomicInteger();
+
+    /* ======================= Hilo ======================= */
+
+    // la del hilo, o null si el hilo no esta atendiendo una request
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void set(RequestStatistics statistics) {
+        if (statistics == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(statistics);
+        }
+    }
+
+    // Corre la accion contando en statistics (si no es null) y despues deja la anterior del hilo
+    public static <T> T with(RequestStatistics statistics, Supplier<T> action) {
+        RequestStatistics previous = CURRENT.get();
+        set(statistics);
+        try {
+            return action.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    /* ======================= Eventos de Hibernate ======================= */
+
+    static void statementExecuted() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements.incrementAndGet();
+        }
+    }
+
+    static void entityLoaded() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entityLoads.incrementAndGet();
+        }
+    }
+
+    static void collectionFetched() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.collectionFetches.incrementAndGet();
+        }
+    }
+
+    /* ======================= Getters ======================= */
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public int getEntityLoads() {
+        return entityLoads.get();
+    }
+
+    public int getCollectionFetches() {
+        return collectionFetches.get();
+    }
+}
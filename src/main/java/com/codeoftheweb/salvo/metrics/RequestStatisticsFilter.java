@@ -0,0 +1,86 @@
+package com.codeoftheweb.salvo.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTags;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/* Registra por endpoint (method y uri, los mismos tags que http.server.requests) cuantas sentencias,
+ * entidades y colecciones de Hibernate uso cada request. Las requests asincronicas (ships, salvos,
+ * joins en el buzon del game) se registran cuando terminan, con lo que conto el comando. */
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+    // los atiende Spring Security sin llegar a un handler (WebMvcTags los dejaria como "root")
+    private static final Set<String> SECURITY_URIS = new HashSet<>(Arrays.asList("/api/login", "/api/logout"));
+
+    private final MeterRegistry registry;
+
+    public RequestStatisticsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatistics statistics = new RequestStatistics();
+        RequestStatistics.set(statistics);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestStatistics.set(null);
+        }
+
+        if (!request.isAsyncStarted()) {
+            record(request, response, statistics);
+            return;
+        }
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                record(request, response, statistics);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestStatistics statistics) {
+        Tag uri = SECURITY_URIS.contains(request.getServletPath())
+                ? Tag.of("uri", request.getServletPath())
+                : WebMvcTags.uri(request, response);
+        Tags tags = Tags.of(WebMvcTags.method(request), uri);
+        summary("salvo.request.statements", "statements", tags).record(statistics.getStatements());
+        summary("salvo.request.entity.loads", "entities", tags).record(statistics.getEntityLoads());
+        summary("salvo.request.collection.fetches", "collections", tags).record(statistics.getCollectionFetches());
+    }
+
+    private DistributionSummary summary(String name, String unit, Tags tags) {
+        return DistributionSummary.builder(name)
+                .baseUnit(unit)
+                .tags(tags)
+                .register(registry);
+    }
+}
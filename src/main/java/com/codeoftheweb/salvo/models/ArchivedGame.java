@@ -0,0 +1,90 @@
+package com.codeoftheweb.salvo.models;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/* Game terminado que ya salio de las tablas de games en juego: una fila con el documento
+ * del game en JSON (ArchivedGameDTO) y, en columnas, sus players y puntajes. */
+@Entity
+public class ArchivedGame {
+
+    /* ======================= Atributos ======================= */
+
+    // el mismo id que tenia el game
+    @Id
+    private long id;
+    private Date creationDate;
+    private Date finishDate;
+    private Date archivedDate;
+
+    private Long firstPlayerId;
+    private Double firstScore;
+    private Long secondPlayerId;
+    private Double secondScore;
+
+    @Lob
+    private String data;
+
+    /* ======================= Constructor ======================= */
+
+    public ArchivedGame() {
+    }
+
+    public ArchivedGame(long id, Date creationDate, Date finishDate, String data) {
+        this.id = id;
+        this.creationDate = creationDate;
+        this.finishDate = finishDate;
+        this.archivedDate = new Date();
+        this.data = data;
+    }
+
+    /* ======================= Getters ======================= */
+
+    public long getId() {
+        return id;
+    }
+
+    public Date getCreationDate() {
+        return creationDate;
+    }
+
+    public Date getFinishDate() {
+        return finishDate;
+    }
+
+    public Date getArchivedDate() {
+        return archivedDate;
+    }
+
+    public Long getFirstPlayerId() {
+        return firstPlayerId;
+    }
+
+    public Double getFirstScore() {
+        return firstScore;
+    }
+
+    public Long getSecondPlayerId() {
+        return secondPlayerId;
+    }
+
+    public Double getSecondScore() {
+        return secondScore;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    /* ======================= Setters ======================= */
+
+    public void setFirstPlayer(Long playerId, Double score) {
+        this.firstPlayerId = playerId;
+        this.firstScore = score;
+    }
+
+    public void setSecondPlayer(Long playerId, Double score) {
+        this.secondPlayerId = playerId;
+        this.secondScore = score;
+    }
+}
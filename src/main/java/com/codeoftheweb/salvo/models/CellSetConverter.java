@@ -0,0 +1,51 @@
+package com.codeoftheweb.salvo.models;
+
+import com.codeoftheweb.salvo.engine.Bitboard;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/* Guarda un conjunto de celdas ("A1".."J10") en una sola columna de 16 bytes:
+ * los dos longs del Bitboard (low y high). Una celda que no es de la grilla no se puede guardar:
+ * tira IllegalArgumentException en lugar de perderla (SalvoController valida ships y salvos antes).
+ * Al leer devuelve las celdas en orden de la grilla (A1, A2, ... J10). */
+@Converter
+public class CellSetConverter implements AttributeConverter<Set<String>, byte[]> {
+
+    public static final int BYTES = 2 * Long.BYTES;
+
+    @Override
+    public byte[] convertToDatabaseColumn(Set<String> cells) {
+        if (cells != null) {
+            for (String cell : cells) {
+                if (Bitboard.index(cell) < 0) {
+                    throw new IllegalArgumentException("Invalid cell: " + cell);
+                }
+            }
+        }
+        return toBytes(Bitboard.of(cells));
+    }
+
+    @Override
+    public Set<String> convertToEntityAttribute(byte[] bytes) {
+        return new LinkedHashSet<>(toBitboard(bytes).toLocations());
+    }
+
+    public static byte[] toBytes(Bitboard cells) {
+        return ByteBuffer.allocate(BYTES).putLong(cells.getLow()).putLong(cells.getHigh()).array();
+    }
+
+    public static Bitboard toBitboard(byte[] bytes) {
+        if (bytes == null) {
+            return Bitboard.EMPTY;
+        }
+        if (bytes.length != BYTES) {
+            throw new IllegalArgumentException("Expected " + BYTES + " bytes of cells, got " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new Bitboard(buffer.getLong(), buffer.getLong());
+    }
+}
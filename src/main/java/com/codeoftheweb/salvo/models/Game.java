@@ -1,11 +1,14 @@
 package com.codeoftheweb.salvo.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.util.*;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"}) // proxies LAZY (REST repositories)
+@Table(indexes = @Index(name = "idx_game_creation", columnList = "creationDate, id"))
 public class Game {
 
     /* ======================= Atributos ======================= */
@@ -18,12 +21,19 @@ public class Game {
     private Date creationDate;
     private double score;
 
+    /* Fecha en que un salvo termino el game (null mientras se juega) */
+    private Date finishDate;
+
+    /* Version del game, sube con cada join, ships y salvo (ETag de game_view y del lobby) */
+    @Version
+    private long version;
+
     /* Metodo donde creo una relacion One to many entre Game y GamePlayer */
-    @OneToMany(mappedBy = "game", fetch = FetchType.EAGER)
-    private Set<GamePlayer> gamePlayers;
+    @OneToMany(mappedBy = "game", fetch = FetchType.LAZY)
+    private Set<GamePlayer> gamePlayers = new LinkedHashSet<>();
 
     /* Metodo donde creo una relacion One to many entre Game y Score */
-    @OneToMany(mappedBy = "game", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "game", fetch = FetchType.LAZY)
     private Set<Score> scores;
 
     /* ======================= Constructor ======================= */
@@ -50,10 +60,18 @@ public class Game {
         return score;
     }
 
+    public Date getFinishDate() {
+        return finishDate;
+    }
+
     public Set<Score> getScores() {
         return scores;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     /* ======================= Setters ======================= */
 
     public void setId(long id) {
@@ -67,6 +85,13 @@ public class Game {
     public void setScores() {
         this.scores = scores;
     }
+
+    /* Metodos */
+
+    public void addGamePlayer(GamePlayer gamePlayer) {
+        this.gamePlayers.add(gamePlayer);
+        gamePlayer.setGame(this);
+    }
 }
 
 
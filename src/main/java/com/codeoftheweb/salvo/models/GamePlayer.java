@@ -1,5 +1,6 @@
 package com.codeoftheweb.salvo.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.hibernate.annotations.GenericGenerator;
 import org.springframework.security.core.Authentication;
 
@@ -8,6 +9,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"}) // proxies LAZY (REST repositories)
 public class GamePlayer {
 
     /* ======================= Atributos ======================= */
@@ -20,21 +22,21 @@ public class GamePlayer {
     private Date joinDate;
 
     /* Metodo donde creo una relacion One to many entre GamePlayer y Player */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "player_id")
     private Player player;
 
     /* Metodo donde creo una relacion One to many entre GamePlayer y Game */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "game_id")
     private Game game;
 
     /* Metodo donde creo una relacion One to many entre GamePlayer y Ship */
-    @OneToMany(mappedBy = "gamePlayer", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "gamePlayer", fetch = FetchType.LAZY)
     private Set<Ship> ships;
 
     /* Metodo donde creo una relacion One to many entre GamePlayer y Salvo */
-    @OneToMany(mappedBy = "gamePlayer", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "gamePlayer", fetch = FetchType.LAZY)
     private Set<Salvo> salvos;
 
 
@@ -108,16 +110,6 @@ public class GamePlayer {
         this.joinDate = joinDate;
     }
 
-    /* =======================  DTO ======================= */
-
-    public Map<String, Object> getGamePlayerDTO() {
-        Map<String, Object> dto = new LinkedHashMap<String, Object>();
-        dto.put("id", this.getId());
-        dto.put("player", this.getPlayer().getPlayerDTO());
-        dto.put("joinDate", this.getJoinDate());
-        return dto;
-    }
-
     /* Metodos */
 
     public void addShip(Ship ship) {
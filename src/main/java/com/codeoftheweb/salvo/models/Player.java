@@ -1,15 +1,19 @@
 package com.codeoftheweb.salvo.models;
 
+import com.codeoftheweb.salvo.services.LeaderBoardListener;
+import com.codeoftheweb.salvo.services.PlayerCacheListener;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"}) // proxies LAZY (REST repositories)
+@EntityListeners({LeaderBoardListener.class, PlayerCacheListener.class})
+@Table(indexes = @Index(name = "idx_player_username", columnList = "userName", unique = true))
 public class Player {
 
     /* ======================= Atributos ======================= */
@@ -22,11 +26,11 @@ public class Player {
     private String password;
 
     /* Metodo donde creo una relacion One to many entre Player y GamePlayer */
-    @OneToMany(mappedBy = "player", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "player", fetch = FetchType.LAZY)
     private Set<GamePlayer> gamePlayers;
 
     /* Metodo donde creo una relacion One to many entre Player y Score */
-    @OneToMany(mappedBy = "player", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "player", fetch = FetchType.LAZY)
     private Set<Score> scores;
 
     /* ======================= Constructor ======================= */
@@ -106,16 +110,6 @@ public class Player {
         return this.getWinScore() * 1.0D + this.getTiedScore() * 0.5D + this.getLostScore() * 0D;
     }
 
-    /* ======================= DTO ======================= */
-    //DTO para Player donde tengo id y username para cada player
-
-    public Map<String, Object> getPlayerDTO() {
-        Map<String, Object> dto = new LinkedHashMap<String, Object>();
-        dto.put("id", this.getId());
-        dto.put("email", this.getUserName());
-        return dto;
-    }
-
     /* Metodo */
 
     public void addGamePlayer(GamePlayer gamePlayer) {
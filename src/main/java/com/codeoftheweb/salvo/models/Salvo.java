@@ -1,7 +1,5 @@
 package com.codeoftheweb.salvo.models;
 
-import org.hibernate.annotations.GenericGenerator;
-
 import javax.persistence.*;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -11,32 +9,25 @@ public class Salvo {
 
     /* ======================= Atributos ======================= */
 
+    /* ids de una secuencia propia reservados de a 50 (pooled): solo uno de cada 50 salvos
+     * consulta la secuencia, y los salvos que se guardan juntos (initData) van en un insert en batch */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO, generator = "native")
-    @GenericGenerator(name = "native", strategy = "native")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "salvo_seq")
+    @SequenceGenerator(name = "salvo_seq", sequenceName = "salvo_seq", allocationSize = 50)
     private long id;
 
     private int turn;
 
     /* Metodo donde creo una relacion One to many entre Salvo y GamePlayer */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "gamePlayer_id")
     private GamePlayer gamePlayer;
 
-    /* Metodo para SalvoLocations */
-    @ElementCollection
-    @Column(name = "salvoLocations")
-    private Set<String> salvoLocations = new HashSet<>();
-
+    /* Metodo para SalvoLocations: todas las celdas en una columna de 16 bytes (CellSetConverter) */
+    @Convert(converter = CellSetConverter.class)
+    @Column(name = "locations", columnDefinition = "varbinary")
+    private Set<String> salvoLocations = new LinkedHashSet<>();
 
-    /* ======================= Salvo Location ======================= */
-
-    private List<Map<String, Object>> getAllSalvos(Set<Salvo> salvos) {
-        return salvos
-                .stream()
-                .map(salvo -> salvo.salvoDTO())
-                .collect(Collectors.toList());
-    }
 
     /* ======================= Constructor ======================= */
 
@@ -85,14 +76,4 @@ public class Salvo {
     public void setSalvoLocations(Set<String> salvoLocations) {
         this.salvoLocations = salvoLocations;
     }
-
-    /* ======================= DTO ======================= */
-
-    public Map<String, Object> salvoDTO() {
-        Map<String, Object> dto = new LinkedHashMap<>();
-        dto.put("turn", this.getTurn());
-        dto.put("player", this.getGamePlayer().getPlayer().getId());
-        dto.put("locations", this.getSalvoLocations());
-        return dto;
-    }
 }
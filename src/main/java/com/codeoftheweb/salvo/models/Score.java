@@ -1,13 +1,13 @@
 package com.codeoftheweb.salvo.models;
 
+import com.codeoftheweb.salvo.services.LeaderBoardListener;
 import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.util.Date;
-import java.util.LinkedHashMap;
-import java.util.Map;
 
 @Entity
+@EntityListeners(LeaderBoardListener.class)
 public class Score {
 
     /* ======================= Atributos ======================= */
@@ -21,12 +21,12 @@ public class Score {
     private Date finishDate;
 
     /* Metodo donde creo una relacion One to many entre Score y Game */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "gamePlayer_id")
     private Game game;
 
     /* Metodo donde creo una relacion One to many entre Score y Player */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "player_id")
     private Player player;
 
@@ -39,7 +39,7 @@ public class Score {
         this.game = game;
         this.player = player;
         this.score = score;
-        this.finishDate = new Date();
+        this.finishDate = finishDate;
     }
 
     /* ======================= Getters ======================= */
@@ -85,14 +85,4 @@ public class Score {
     public void setFinishDate(Date finishDate) {
         this.finishDate = finishDate;
     }
-
-    /* ======================= DTO ======================= */
-
-    public Map<String, Object> scoreDTO() {
-        Map<String, Object> dto = new LinkedHashMap<>();
-        dto.put("player", this.getPlayer().getId());
-        dto.put("score", this.getScore());
-        dto.put("finishDate", this.getFinishDate());
-        return dto;
-    }
 }
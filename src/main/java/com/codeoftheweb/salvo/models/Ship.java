@@ -1,7 +1,5 @@
 package com.codeoftheweb.salvo.models;
 
-import org.hibernate.annotations.GenericGenerator;
-
 import javax.persistence.*;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -11,28 +9,24 @@ public class Ship {
 
     /* ======================= Atributos ======================= */
 
+    /* ids de una secuencia propia reservados de a 50 (pooled): guardar una flota no consulta
+     * la secuencia por cada ship y los inserts se pueden mandar en batch */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO, generator = "native")
-    @GenericGenerator(name = "native", strategy = "native")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ship_seq")
+    @SequenceGenerator(name = "ship_seq", sequenceName = "ship_seq", allocationSize = 50)
     private long id;
     private String type;
 
     /* Metodo donde creo una relacion One to many entre Ship y GamePlayer */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "gamePlayer_id")
     private GamePlayer gamePlayer;
 
-    /* Metodo para ShipLocations */
-    @ElementCollection
-    @Column(name = "shipLocations")
-    private Set<String> locations = new HashSet<>();
-
-    public Map<String, Object> shipDTO() {
-        Map<String, Object> dto = new LinkedHashMap<>();
-        dto.put("type", this.getType());
-        dto.put("locations", this.getLocations());
-        return dto;
-    }
+    /* Metodo para ShipLocations: todas las celdas en una columna de 16 bytes (CellSetConverter,
+     * varbinary(16) en db/migration/V1) */
+    @Convert(converter = CellSetConverter.class)
+    @Column(name = "locations", columnDefinition = "varbinary")
+    private Set<String> locations = new LinkedHashSet<>();
 
     /* ======================= Constructor ======================= */
 
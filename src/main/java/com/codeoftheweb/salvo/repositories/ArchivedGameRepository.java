@@ -0,0 +1,37 @@
+package com.codeoftheweb.salvo.repositories;
+
+import com.codeoftheweb.salvo.models.ArchivedGame;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+import java.util.List;
+
+// solo por HistoryController, que verifica el player: el documento tiene los ships y salvos de los dos
+@RepositoryRestResource(exported = false)
+public interface ArchivedGameRepository extends JpaRepository<ArchivedGame, Long> {
+
+    // Historia del player: sus games archivados, del terminado mas nuevo al mas viejo
+    @Query("select a from ArchivedGame a where a.firstPlayerId = :playerId or a.secondPlayerId = :playerId"
+            + " order by a.finishDate desc, a.id desc")
+    Slice<ArchivedGame> findHistory(@Param("playerId") long playerId, Pageable pageable);
+
+    /* won, lost y tied de cada player en los games archivados (carga de la tabla de clasificaciones),
+     * una consulta por asiento */
+    @Query("select a.firstPlayerId,"
+            + " sum(case when a.firstScore = 1.0 then 1 else 0 end),"
+            + " sum(case when a.firstScore = 0.0 then 1 else 0 end),"
+            + " sum(case when a.firstScore = 0.5 then 1 else 0 end)"
+            + " from ArchivedGame a where a.firstScore is not null group by a.firstPlayerId")
+    List<Object[]> findFirstSeatStandings();
+
+    @Query("select a.secondPlayerId,"
+            + " sum(case when a.secondScore = 1.0 then 1 else 0 end),"
+            + " sum(case when a.secondScore = 0.0 then 1 else 0 end),"
+            + " sum(case when a.secondScore = 0.5 then 1 else 0 end)"
+            + " from ArchivedGame a where a.secondScore is not null group by a.secondPlayerId")
+    List<Object[]> findSecondSeatStandings();
+}
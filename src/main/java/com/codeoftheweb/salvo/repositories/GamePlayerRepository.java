@@ -1,9 +1,13 @@
 package com.codeoftheweb.salvo.repositories;
 
 import com.codeoftheweb.salvo.models.GamePlayer;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 
 import java.util.Optional;
 
@@ -11,4 +15,27 @@ import java.util.Optional;
 public interface GamePlayerRepository extends JpaRepository<GamePlayer, Long> {
     Optional<GamePlayer> findById(@Param("id") Long id);
 
+    /* carga de un game en el cache (HotGameService) y ships: el gamePlayer con su player, su game
+     * y los gamePlayers del game con sus players en una sola consulta. Ships, salvos y locations se cargan despues por lotes
+     * (hibernate.default_batch_fetch_size) para los dos gamePlayers juntos. */
+    @RestResource(exported = false)
+    @EntityGraph(attributePaths = {"player", "game", "game.gamePlayers", "game.gamePlayers.player"})
+    @Query("select gp from GamePlayer gp where gp.id = :id")
+    Optional<GamePlayer> findWithGameById(@Param("id") Long id);
+
+    // Id del game del gamePlayer (buzon de comandos del game)
+    @RestResource(exported = false)
+    @Query("select gp.game.id from GamePlayer gp where gp.id = :id")
+    Long findGameId(@Param("id") Long id);
+
+    // Asientos ocupados del game
+    @RestResource(exported = false)
+    long countByGameId(long gameId);
+
+    // gamePlayers del game (al archivarlo)
+    @Modifying
+    @RestResource(exported = false)
+    @Query("delete from GamePlayer gp where gp.game.id = :gameId")
+    int deleteByGameId(@Param("gameId") long gameId);
+
 }
@@ -1,9 +1,19 @@
 package com.codeoftheweb.salvo.repositories;
 
 import com.codeoftheweb.salvo.models.Game;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -14,5 +24,95 @@ public interface GameRepository extends JpaRepository<Game, Long> {
     Game getOne(Long id);
 
     List<Game> findByCreationDate(Date creationDate);
+
+    // Game para ocupar un asiento: al commit sube la version solo si nadie la cambio (si no, falla y se reintenta)
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @RestResource(exported = false)
+    @Query("select g from Game g where g.id = :id")
+    Optional<Game> findForSeatClaim(@Param("id") long id);
+
+    // Sube la version del game sin cargarlo (join, ships, salvos, create)
+    @RestResource(exported = false)
+    @Modifying
+    @Transactional
+    @Query("update Game g set g.version = g.version + 1 where g.id = :id")
+    int bumpVersion(@Param("id") long id);
+
+    // Sube la version de varios games (scores nuevos: cambia el lobby)
+    @Modifying
+    @RestResource(exported = false)
+    @Query("update Game g set g.version = g.version + 1 where g.id in :ids")
+    int bumpVersions(@Param("ids") Collection<Long> ids);
+
+    // Marca el game como terminado (en la transaccion del salvo que lo termina)
+    @Modifying
+    @RestResource(exported = false)
+    @Query("update Game g set g.finishDate = :finishDate where g.id = :id and g.finishDate is null")
+    int markFinished(@Param("id") long id, @Param("finishDate") Date finishDate);
+
+    // Games terminados antes de la fecha que todavia no tienen scores: id y fecha de fin
+    @RestResource(exported = false)
+    @Query("select g.id, g.finishDate from Game g where g.finishDate < :before"
+            + " and not exists (select s.id from Score s where s.game = g) order by g.id")
+    List<Object[]> findFinishedWithoutScores(@Param("before") Date before);
+
+    // Version del game en la base (despues de bumpVersion, dentro de la misma transaccion); null si no existe
+    @RestResource(exported = false)
+    @Query("select g.version from Game g where g.id = :id")
+    Long findVersion(@Param("id") long id);
+
+    // Fecha de creacion del game sin cargarlo (el create de su turn log); null si no existe
+    @RestResource(exported = false)
+    @Query("select g.creationDate from Game g where g.id = :id")
+    Date findCreationDate(@Param("id") long id);
+
+    // Borra el game sin cargarlo (al archivarlo, despues de sus gamePlayers)
+    @Modifying
+    @RestResource(exported = false)
+    @Query("delete from Game g where g.id = :id")
+    int deleteGame(@Param("id") long id);
+
+    // cantidad de games, ultimo id y suma de versiones: cambia con cualquier cambio en el lobby
+    @RestResource(exported = false)
+    @Query("select count(g), coalesce(max(g.id), 0), coalesce(sum(g.version), 0) from Game g")
+    List<Object[]> findLobbyVersion();
+
+    /* Ids de una pagina del lobby ordenada del game mas nuevo al mas viejo.
+     * cursorDate/cursorId: ultimo game de la pagina anterior (null en la primera pagina)
+     * open: solo games con menos de 2 gamePlayers, userName: solo games de ese player (null = todos)
+     * finished: true con scores, false sin scores, null todos */
+    @RestResource(exported = false)
+    @Query("select g.id from Game g"
+            + " where (:cursorDate is null or g.creationDate < :cursorDate"
+            + "        or (g.creationDate = :cursorDate and g.id < :cursorId))"
+            + " and (:createdAfter is null or g.creationDate > :createdAfter)"
+            + " and (:open = false or size(g.gamePlayers) < 2)"
+            + " and (:userName is null or exists (select gp.id from GamePlayer gp"
+            + "      where gp.game = g and gp.player.userName = :userName))"
+            + " and (:finished is null or (:finished = true and g.scores is not empty)"
+            + "      or (:finished = false and g.scores is empty))"
+            + " order by g.creationDate desc, g.id desc")
+    Slice<Long> findLobby(@Param("cursorDate") Date cursorDate,
+                          @Param("cursorId") long cursorId,
+                          @Param("createdAfter") Date createdAfter,
+                          @Param("open") boolean open,
+                          @Param("userName") String userName,
+                          @Param("finished") Boolean finished,
+                          Pageable pageable);
+
+    // Columnas del lobby para los games de una pagina, una fila por gamePlayer (sin cargar entidades)
+    @RestResource(exported = false)
+    @Query("select new com.codeoftheweb.salvo.repositories.LobbyRow(g.id, g.creationDate, gp.id, gp.joinDate,"
+            + " p.id, p.userName)"
+            + " from Game g left join g.gamePlayers gp left join gp.player p"
+            + " where g.id in :ids"
+            + " order by g.creationDate desc, g.id desc, gp.id")
+    List<LobbyRow> findLobbyRows(@Param("ids") Collection<Long> ids);
+
+    // Scores de los games de una pagina del lobby
+    @RestResource(exported = false)
+    @Query("select new com.codeoftheweb.salvo.repositories.LobbyScoreRow(s.game.id, s.player.id, s.score, s.finishDate)"
+            + " from Score s where s.game.id in :ids order by s.id")
+    List<LobbyScoreRow> findLobbyScores(@Param("ids") Collection<Long> ids);
 }
 //no es necesario el finby...
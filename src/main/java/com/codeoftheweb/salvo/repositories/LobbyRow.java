@@ -0,0 +1,55 @@
+package com.codeoftheweb.salvo.repositories;
+
+import java.util.Date;
+
+/* Fila plana del lobby: un game con uno de sus gamePlayers y su player.
+ * Se arma con una constructor expression de JPQL, no es una entidad administrada. */
+public class LobbyRow {
+
+    /* ======================= Atributos ======================= */
+
+    private final long gameId;
+    private final Date created;
+    private final Long gamePlayerId;
+    private final Date joinDate;
+    private final Long playerId;
+    private final String email;
+
+    /* ======================= Constructor ======================= */
+
+    public LobbyRow(long gameId, Date created, Long gamePlayerId, Date joinDate,
+                    Long playerId, String email) {
+        this.gameId = gameId;
+        this.created = created;
+        this.gamePlayerId = gamePlayerId;
+        this.joinDate = joinDate;
+        this.playerId = playerId;
+        this.email = email;
+    }
+
+    /* ======================= Getters ======================= */
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    public Long getGamePlayerId() {
+        return gamePlayerId;
+    }
+
+    public Date getJoinDate() {
+        return joinDate;
+    }
+
+    public Long getPlayerId() {
+        return playerId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,41 @@
+package com.codeoftheweb.salvo.repositories;
+
+import java.util.Date;
+
+/* Fila plana de un score del lobby, armada con una constructor expression de JPQL */
+public class LobbyScoreRow {
+
+    /* ======================= Atributos ======================= */
+
+    private final long gameId;
+    private final long playerId;
+    private final double score;
+    private final Date finishDate;
+
+    /* ======================= Constructor ======================= */
+
+    public LobbyScoreRow(long gameId, long playerId, double score, Date finishDate) {
+        this.gameId = gameId;
+        this.playerId = playerId;
+        this.score = score;
+        this.finishDate = finishDate;
+    }
+
+    /* ======================= Getters ======================= */
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    public long getPlayerId() {
+        return playerId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public Date getFinishDate() {
+        return finishDate;
+    }
+}
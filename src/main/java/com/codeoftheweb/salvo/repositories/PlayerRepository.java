@@ -2,8 +2,10 @@ package com.codeoftheweb.salvo.repositories;
 
 import com.codeoftheweb.salvo.models.Player;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 
 import java.util.List;
 
@@ -15,4 +17,13 @@ import java.util.List;
 @RepositoryRestResource
 public interface PlayerRepository extends JpaRepository<Player, Long> {
     Player findByUserName(String userName);
+
+    // won, lost y tied de cada player en una sola consulta (carga de la tabla de clasificaciones)
+    @RestResource(exported = false)
+    @Query("select p.id, p.userName,"
+            + " sum(case when s.score = 1.0 then 1 else 0 end),"
+            + " sum(case when s.score = 0.0 then 1 else 0 end),"
+            + " sum(case when s.score = 0.5 then 1 else 0 end)"
+            + " from Player p left join p.scores s group by p.id, p.userName")
+    List<Object[]> findStandings();
 }
@@ -1,9 +1,34 @@
 package com.codeoftheweb.salvo.repositories;
 
 import com.codeoftheweb.salvo.models.Score;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 
 @RepositoryRestResource
 public interface ScoreRepository extends JpaRepository<Score, Long> {
+
+    // Games terminados (con scores) cuyo ultimo score es anterior a la fecha, para archivar
+    @RestResource(exported = false)
+    @Query("select s.game.id from Score s group by s.game.id having max(s.finishDate) < :before order by s.game.id")
+    List<Long> findGamesFinishedBefore(@Param("before") Date before, Pageable pageable);
+
+    // De los games, los que ya tienen scores
+    @RestResource(exported = false)
+    @Query("select distinct s.game.id from Score s where s.game.id in :gameIds")
+    List<Long> findScoredGames(@Param("gameIds") Collection<Long> gameIds);
+
+    // scores del game (al archivarlo)
+    @Modifying
+    @RestResource(exported = false)
+    @Query("delete from Score s where s.game.id = :gameId")
+    int deleteByGameId(@Param("gameId") long gameId);
 }
@@ -2,10 +2,18 @@ package com.codeoftheweb.salvo.repositories;
 
 import com.codeoftheweb.salvo.models.Ship;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 
 @RepositoryRestResource
 public interface ShipRepository extends JpaRepository<Ship, Long> {
 
+    // ships de los gamePlayers del game (al archivarlo)
+    @Modifying
+    @RestResource(exported = false)
+    @Query("delete from Ship s where s.gamePlayer.id in (select gp.id from GamePlayer gp where gp.game.id = :gameId)")
+    int deleteByGameId(@Param("gameId") long gameId);
 }
-
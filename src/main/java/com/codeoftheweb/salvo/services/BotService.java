@@ -0,0 +1,76 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.engine.Bitboard;
+import com.codeoftheweb.salvo.engine.CombatState;
+import com.codeoftheweb.salvo.engine.ShipType;
+import com.codeoftheweb.salvo.engine.Targeting;
+import com.codeoftheweb.salvo.metrics.GameMetrics;
+import com.codeoftheweb.salvo.models.Player;
+import com.codeoftheweb.salvo.models.Salvo;
+import com.codeoftheweb.salvo.models.Ship;
+import com.codeoftheweb.salvo.repositories.PlayerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/* El bot de los games de un jugador: un Player mas (nadie conoce su password) que se sienta,
+ * ubica sus ships y dispara por los mismos comandos del buzon del game que los jugadores.
+ * Aca solo se decide que hace; la punteria es Targeting, una instancia por worker del buzon. */
+@Service
+public class BotService {
+
+    public static final String USER_NAME = "bot@salvo";
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final ThreadLocal<Targeting> targeting = ThreadLocal.withInitial(Targeting::new);
+    private volatile long playerId = -1;
+
+    // el player del bot se crea la primera vez que arranca la aplicacion
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        Player bot = playerRepository.findByUserName(USER_NAME);
+        if (bot == null) {
+            bot = playerRepository.save(new Player(USER_NAME, passwordEncoder.encode(UUID.randomUUID().toString())));
+        }
+        playerId = bot.getId();
+    }
+
+    /* ======================= Bot ======================= */
+
+    public long getPlayerId() {
+        return playerId;
+    }
+
+    public boolean isBot(long playerId) {
+        return playerId == this.playerId;
+    }
+
+    // Flota completa al azar, como la mandaria el front end
+    public Set<Ship> fleet() {
+        Bitboard[] masks = Targeting.randomFleet(ThreadLocalRandom.current());
+        Set<Ship> ships = new LinkedHashSet<>();
+        for (ShipType type : ShipType.values()) {
+            ships.add(new Ship(null, type.getName(), new LinkedHashSet<>(masks[type.ordinal()].toLocations())));
+        }
+        return ships;
+    }
+
+    // Proximo salvo del bot desde su estado de combate (el turno lo pone fireSalvo)
+    public Salvo salvo(CombatState state) {
+        Targeting aim = targeting.get();
+        GameMetrics.BOT_AIM.record(() -> aim.aim(state));
+        return new Salvo(0, null, new LinkedHashSet<>(aim.getSalvo().toLocations()));
+    }
+}
@@ -0,0 +1,167 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.dto.ArchivedGameDTO;
+import com.codeoftheweb.salvo.dto.ArchivedGamePlayerDTO;
+import com.codeoftheweb.salvo.dto.ScoreDTO;
+import com.codeoftheweb.salvo.models.ArchivedGame;
+import com.codeoftheweb.salvo.models.Game;
+import com.codeoftheweb.salvo.models.GamePlayer;
+import com.codeoftheweb.salvo.models.Score;
+import com.codeoftheweb.salvo.repositories.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/* Archivo de games terminados: cada cierto tiempo pasa los games cuyo ultimo score tiene mas
+ * de una hora a una fila de archived_game (documento JSON con gamePlayers, ships, salvos y scores)
+ * y los borra de las tablas de games en juego. Cada game se archiva como un comando en el buzon
+ * del game (GameCommandService), asi no se cruza con un ship o salvo del mismo game. */
+@Service
+public class GameArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameArchiveService.class);
+
+    private static final long ARCHIVE_AFTER = TimeUnit.HOURS.toMillis(1);
+    private static final int BATCH_SIZE = 100;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GamePlayerRepository gamePlayerRepository;
+
+    @Autowired
+    private ShipRepository shipRepository;
+
+    @Autowired
+    private SalvoRepository salvoRepository;
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Autowired
+    private ArchivedGameRepository archivedGameRepository;
+
+    @Autowired
+    private GameCommandService gameCommandService;
+
+    @Autowired
+    private HotGameService hotGameService;
+
+    @Autowired
+    private TurnLogService turnLogService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /* ======================= Archivo ======================= */
+
+    @Scheduled(initialDelay = 60_000, fixedDelay = 600_000)
+    public void archiveFinishedGames() {
+        archiveFinishedBefore(new Date(System.currentTimeMillis() - ARCHIVE_AFTER));
+    }
+
+    // Archiva, de a lotes, los games terminados antes de la fecha; devuelve cuantos archivo
+    public int archiveFinishedBefore(Date before) {
+        int archived = 0;
+        List<Long> gameIds = scoreRepository.findGamesFinishedBefore(before, PageRequest.of(0, BATCH_SIZE));
+        while (!gameIds.isEmpty()) {
+            List<CompletableFuture<Boolean>> commands = new ArrayList<>(gameIds.size());
+            for (long gameId : gameIds) {
+                commands.add(gameCommandService.submit(gameId, () -> archive(gameId)));
+            }
+            // un game que no se puede archivar no frena al resto del lote; queda para la proxima corrida
+            int batch = 0;
+            for (int i = 0; i < commands.size(); i++) {
+                try {
+                    if (commands.get(i).join()) {
+                        batch++;
+                    }
+                } catch (CompletionException e) {
+                    log.warn("Could not archive game {}", gameIds.get(i), e.getCause());
+                }
+            }
+            if (batch == 0) {
+                break;
+            }
+            archived += batch;
+            gameIds = scoreRepository.findGamesFinishedBefore(before, PageRequest.of(0, BATCH_SIZE));
+        }
+        return archived;
+    }
+
+    private boolean archive(long gameId) {
+        Game game = gameRepository.findById(gameId).orElse(null);
+        if (game == null) {
+            return false;
+        }
+
+        List<ArchivedGamePlayerDTO> gamePlayers = new ArrayList<>(game.getGamePlayers().size());
+        for (GamePlayer gamePlayer : game.getGamePlayers()) {
+            gamePlayers.add(ArchivedGamePlayerDTO.of(gamePlayer));
+        }
+        gamePlayers.sort(Comparator.comparingLong(ArchivedGamePlayerDTO::getId));
+
+        List<ScoreDTO> scores = new ArrayList<>(game.getScores().size());
+        Date finished = null;
+        for (Score score : game.getScores()) {
+            scores.add(ScoreDTO.of(score));
+            if (finished == null || score.getFinishDate().after(finished)) {
+                finished = score.getFinishDate();
+            }
+        }
+
+        ArchivedGame archived = new ArchivedGame(gameId, game.getCreationDate(), finished,
+                toJson(new ArchivedGameDTO(gameId, game.getCreationDate(), finished, gamePlayers, scores)));
+        // asientos en orden de llegada, con el puntaje de cada player (null si no tiene score)
+        if (gamePlayers.size() > 0) {
+            long playerId = gamePlayers.get(0).getPlayer().getId();
+            archived.setFirstPlayer(playerId, scoreOf(scores, playerId));
+        }
+        if (gamePlayers.size() > 1) {
+            long playerId = gamePlayers.get(1).getPlayer().getId();
+            archived.setSecondPlayer(playerId, scoreOf(scores, playerId));
+        }
+        archivedGameRepository.save(archived);
+
+        salvoRepository.deleteByGameId(gameId);
+        shipRepository.deleteByGameId(gameId);
+        scoreRepository.deleteByGameId(gameId);
+        gamePlayerRepository.deleteByGameId(gameId);
+        gameRepository.deleteGame(gameId);
+        gameCommandService.afterCommit(() -> {
+            hotGameService.evict(gameId);
+            turnLogService.delete(gameId);
+        });
+        return true;
+    }
+
+    private static Double scoreOf(List<ScoreDTO> scores, long playerId) {
+        for (ScoreDTO score : scores) {
+            if (score.getPlayer() == playerId) {
+                return score.getScore();
+            }
+        }
+        return null;
+    }
+
+    private String toJson(ArchivedGameDTO game) {
+        try {
+            // compacto aunque la API indente su JSON
+            return objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsString(game);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not archive game " + game.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.metrics.RequestStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/* Un solo escritor por game: los comandos que modifican un game (ships, salvos) se encolan
+ * en el buzon de ese game y se ejecutan de a uno, en orden de llegada, cada uno en su transaccion.
+ * Los buzones comparten un pool de workers, asi que games distintos corren en paralelo
+ * sin ningun lock global. Un buzon es solo la cola de futures del game: el ultimo comando
+ * encolado (se saca del mapa cuando termina y no llego otro). */
+@Service
+public class GameCommandService {
+
+    private static final CompletableFuture<Object> IDLE = CompletableFuture.completedFuture(null);
+
+    private final ExecutorService workers;
+    private final TransactionTemplate transactionTemplate;
+
+    // id del game -> ultimo comando encolado
+    private final ConcurrentMap<Long, CompletableFuture<?>> mailboxes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GameCommandService(PlatformTransactionManager transactionManager) {
+        AtomicInteger count = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "game-writer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /* ======================= Comandos ======================= */
+
+    // Encola el comando en el buzon del game; el future termina con su resultado despues del commit
+    public <T> CompletableFuture<T> submit(long gameId, Supplier<T> command) {
+        RequestStatistics statistics = RequestStatistics.current();
+        AtomicReference<CompletableFuture<T>> submitted = new AtomicReference<>();
+        mailboxes.compute(gameId, (id, last) -> {
+            CompletableFuture<?> previous = last == null ? IDLE : last;
+            // corre despues del anterior aunque haya fallado; lo que hace Hibernate en el worker
+            // (tambien el flush del commit) cuenta para la request que encolo el comando
+            submitted.set(previous.handleAsync((result, error) -> RequestStatistics.with(statistics,
+                    () -> transactionTemplate.execute(status -> command.get())), workers));
+            return submitted.get();
+        });
+
+        CompletableFuture<T> future = submitted.get();
+        future.whenComplete((result, error) -> mailboxes.remove(gameId, future));
+        return future;
+    }
+
+    // Dentro de un comando: corre la accion despues del commit, todavia en el buzon del game
+    // (estado en memoria y eventos quedan en el mismo orden que los comandos)
+    public void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,95 @@
+package com.codeoftheweb.salvo.services;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/* Canal push por game (Server-Sent Events). Los gamePlayers se suscriben desde game.js
+ * y reciben un evento "state" cada vez que el game cambia, en lugar de hacer polling
+ * a /api/game_view. Un cliente esperando no genera ninguna consulta a la base.
+ * Los envios salen de un hilo propio con cola acotada: un cliente lento no frena el buzon
+ * del game que publica. Un solo hilo mantiene el orden de los eventos de cada game. */
+@Service
+public class GameEventService {
+
+    // El navegador reconecta solo cuando vence el emitter
+    private static final long TIMEOUT = 30 * 60 * 1000L;
+
+    // eventos pendientes de enviar; si se llena se pierde el evento
+    private static final int QUEUE_SIZE = 1024;
+
+    // id del game -> clientes suscriptos
+    private final ConcurrentMap<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    private final ExecutorService sender = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+        Thread thread = new Thread(runnable, "game-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SseEmitter subscribe(long gameId) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT);
+        List<SseEmitter> subscribers = emitters.computeIfAbsent(gameId, id -> new CopyOnWriteArrayList<>());
+        subscribers.add(emitter);
+
+        emitter.onCompletion(() -> remove(gameId, emitter));
+        emitter.onTimeout(() -> remove(gameId, emitter));
+        emitter.onError(error -> remove(gameId, emitter));
+        return emitter;
+    }
+
+    // Avisa a todos los suscriptos del game que el estado cambio (type: join, ships, salvo)
+    public void publish(long gameId, String type) {
+        List<SseEmitter> subscribers = emitters.get(gameId);
+        if (subscribers == null) {
+            return;
+        }
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("gameId", gameId);
+        event.put("type", type);
+        try {
+            sender.execute(() -> send(gameId, subscribers, event));
+        } catch (RejectedExecutionException e) {
+            // cola llena: se cierran las conexiones del game; game.js reconecta y vuelve a pedir el game_view
+            for (SseEmitter emitter : subscribers) {
+                drop(gameId, emitter);
+            }
+        }
+    }
+
+    private void send(long gameId, List<SseEmitter> subscribers, Map<String, Object> event) {
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(SseEmitter.event().name("state").data(event));
+            } catch (IOException | IllegalStateException e) {
+                // conexion rota o ya cerrada: el contenedor completa el emitter, aca solo se deja de usar
+                remove(gameId, emitter);
+            }
+        }
+    }
+
+    private void drop(long gameId, SseEmitter emitter) {
+        remove(gameId, emitter);
+        emitter.complete();
+    }
+
+    private void remove(long gameId, SseEmitter emitter) {
+        emitters.computeIfPresent(gameId, (id, subscribers) -> {
+            subscribers.remove(emitter);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdown();
+    }
+}
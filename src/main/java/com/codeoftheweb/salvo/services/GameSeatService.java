@@ -0,0 +1,80 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.models.Game;
+import com.codeoftheweb.salvo.models.GamePlayer;
+import com.codeoftheweb.salvo.repositories.GamePlayerRepository;
+import com.codeoftheweb.salvo.repositories.GameRepository;
+import com.codeoftheweb.salvo.repositories.PlayerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/* Asientos de un game: como maximo dos gamePlayers.
+ * Cada intento cuenta los asientos y agrega el gamePlayer en una transaccion que, al commit,
+ * sube la version del game solo si sigue igual (OPTIMISTIC_FORCE_INCREMENT). Si otro join
+ * (o ships/salvo) cambio el game en el medio, la transaccion falla sin guardar nada y se
+ * reintenta con los asientos actualizados; no se bloquea el game mientras se decide.
+ * Cada intento es una transaccion propia (REQUIRES_NEW), aunque se llame desde un comando del
+ * buzon del game: un intento fallido no deja marcada para rollback la transaccion del comando. */
+@Service
+public class GameSeatService {
+
+    public static final int SEATS = 2;
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GamePlayerRepository gamePlayerRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public GameSeatService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /* ======================= Join ======================= */
+
+    // Ocupa un asiento del game para el player; devuelve el gamePlayer nuevo
+    public GamePlayer claimSeat(long gameId, long playerId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> tryClaimSeat(gameId, playerId));
+            } catch (ConcurrencyFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw new SeatUnavailableException("Game is busy, try again");
+                }
+            }
+        }
+    }
+
+    private GamePlayer tryClaimSeat(long gameId, long playerId) {
+        Game game = gameRepository.findForSeatClaim(gameId).orElse(null);
+        if (game == null) {
+            throw new SeatUnavailableException("No such game");
+        }
+        if (gamePlayerRepository.countByGameId(gameId) >= SEATS) {
+            throw new SeatUnavailableException("Game is full");
+        }
+        return gamePlayerRepository.save(new GamePlayer(game, playerRepository.getOne(playerId)));
+    }
+
+    /* ======================= Errores ======================= */
+
+    public static class SeatUnavailableException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public SeatUnavailableException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.dto.GamePlayerDTO;
+import com.codeoftheweb.salvo.dto.GameViewDTO;
+import com.codeoftheweb.salvo.dto.SalvoDTO;
+import com.codeoftheweb.salvo.dto.ShipDTO;
+import com.codeoftheweb.salvo.engine.CombatState;
+import com.codeoftheweb.salvo.engine.GameState;
+import com.codeoftheweb.salvo.metrics.GameMetrics;
+import com.codeoftheweb.salvo.models.Game;
+import com.codeoftheweb.salvo.models.GamePlayer;
+import com.codeoftheweb.salvo.models.Salvo;
+import com.codeoftheweb.salvo.models.Ship;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/* Foto inmutable de un game en juego: sus gamePlayers con ships, salvos y estado de combate
+ * ya calculado, y la version del game con la que se cargo. game_view y las validaciones de
+ * ships y salvos la leen sin ir a la base; cada salvo aceptado devuelve otra foto. */
+public final class HotGame {
+
+    /* ======================= Atributos ======================= */
+
+    private final long id;
+    private final Date created;
+    private final long version;
+    private final List<Seat> seats;
+
+    // game terminado: el game_view de cada gamePlayer ya no cambia, se arma una sola vez por foto
+    private final ConcurrentMap<Long, GameViewDTO> finalViews = new ConcurrentHashMap<>();
+
+    /* ======================= Constructor ======================= */
+
+    private HotGame(long id, Date created, long version, List<Seat> seats) {
+        this.id = id;
+        this.created = created;
+        this.version = version;
+        this.seats = seats;
+    }
+
+    /* Carga la foto desde el game (dentro de una transaccion: recorre gamePlayers, ships y salvos).
+     * version: la del game en la base, que puede ser mas nueva que la de la entidad (bumpVersion) */
+    public static HotGame of(Game game, long version) {
+        List<GamePlayer> gamePlayers = new ArrayList<>(game.getGamePlayers());
+        List<Seat> seats = new ArrayList<>(gamePlayers.size());
+        for (GamePlayer gamePlayer : gamePlayers) {
+            long playerId = gamePlayer.getPlayer().getId();
+            List<ShipDTO> ships = new ArrayList<>(gamePlayer.getShips().size());
+            for (Ship ship : gamePlayer.getShips()) {
+                ships.add(ShipDTO.of(ship));
+            }
+            List<SalvoDTO> salvoes = new ArrayList<>(gamePlayer.getSalvos().size());
+            for (Salvo salvo : gamePlayer.getSalvos()) {
+                salvoes.add(SalvoDTO.of(salvo, playerId));
+            }
+            seats.add(new Seat(GamePlayerDTO.of(gamePlayer), Collections.unmodifiableList(ships),
+                    Collections.unmodifiableList(salvoes),
+                    GameMetrics.HITS_RESOLVE.record(() -> CombatState.of(gamePlayer, opponentOf(gamePlayer, gamePlayers)))));
+        }
+        return new HotGame(game.getId(), game.getCreationDate(), version, withStates(seats));
+    }
+
+    /* ======================= Metodos ======================= */
+
+    // Foto con el salvo nuevo del gamePlayer ya resuelto (solo el turno nuevo), con la version nueva;
+    // null si el salvo no es el siguiente turno de esta foto y hay que volver a cargarla
+    public HotGame withSalvo(long gamePlayerId, Salvo salvo, long version) {
+        Seat shooter = getSeat(gamePlayerId);
+        if (shooter == null || shooter.state.getOpponentId() == null
+                || salvo.getTurn() != shooter.state.getSalvoes() + 1) {
+            return null;
+        }
+
+        List<SalvoDTO> salvoes = new ArrayList<>(shooter.salvoes.size() + 1);
+        salvoes.addAll(shooter.salvoes);
+        salvoes.add(SalvoDTO.of(salvo, shooter.getPlayerId()));
+
+        List<Seat> next = new ArrayList<>(seats.size());
+        for (Seat seat : seats) {
+            next.add(seat != shooter ? seat : new Seat(seat.gamePlayer, seat.ships,
+                    Collections.unmodifiableList(salvoes), GameMetrics.HITS_FIRE.record(() -> seat.state.fire(salvo))));
+        }
+        return new HotGame(id, created, version, withStates(next));
+    }
+
+    // Terminado: los dos gamePlayers en WON, TIE o LOST (un salvo lo termina para los dos a la vez)
+    public boolean isFinished() {
+        if (seats.size() < 2) {
+            return false;
+        }
+        for (Seat seat : seats) {
+            if (!seat.state.getState().isFinished()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Puntaje de cada player de un game terminado (WON 1, TIE 0.5, LOST 0): id del player -> puntaje
+    public Map<Long, Double> getResults() {
+        Map<Long, Double> results = new LinkedHashMap<>();
+        for (Seat seat : seats) {
+            GameState state = seat.state.getState();
+            results.put(seat.getPlayerId(), state == GameState.WON ? 1 : state == GameState.TIE ? 0.5 : 0);
+        }
+        return results;
+    }
+
+    // game_view de un gamePlayer del game terminado: el primer pedido lo arma, los siguientes lo reusan
+    public GameViewDTO finalView(long gamePlayerId, Function<Long, GameViewDTO> build) {
+        return finalViews.computeIfAbsent(gamePlayerId, build);
+    }
+
+    public Seat getSeat(long gamePlayerId) {
+        for (Seat seat : seats) {
+            if (seat.getGamePlayerId() == gamePlayerId) {
+                return seat;
+            }
+        }
+        return null;
+    }
+
+    public Seat getOpponent(long gamePlayerId) {
+        for (Seat seat : seats) {
+            if (seat.getGamePlayerId() != gamePlayerId) {
+                return seat;
+            }
+        }
+        return null;
+    }
+
+    // recalcula el estado del juego de cada gamePlayer con el combate de los dos
+    private static List<Seat> withStates(List<Seat> current) {
+        List<Seat> next = new ArrayList<>(current.size());
+        for (Seat seat : current) {
+            Seat opponent = null;
+            for (Seat other : current) {
+                if (seat.state.getOpponentId() != null && other.getGamePlayerId() == seat.state.getOpponentId()) {
+                    opponent = other;
+                }
+            }
+            CombatState opponentState = opponent == null ? null : opponent.state;
+            CombatState state = seat.state.withState(
+                    GameMetrics.GAME_STATE.record(() -> CombatState.stateOf(seat.state, opponentState)));
+            next.add(new Seat(seat.gamePlayer, seat.ships, seat.salvoes, state));
+        }
+        return Collections.unmodifiableList(next);
+    }
+
+    private static GamePlayer opponentOf(GamePlayer gamePlayer, List<GamePlayer> gamePlayers) {
+        GamePlayer opponent = null;
+        for (GamePlayer gp : gamePlayers) {
+            if (!gp.getId().equals(gamePlayer.getId())) {
+                opponent = gp;
+            }
+        }
+        return opponent;
+    }
+
+    /* ======================= Getters ======================= */
+
+    public long getId() {
+        return id;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Seat> getSeats() {
+        return seats;
+    }
+
+    /* ======================= Seat ======================= */
+
+    // Un gamePlayer del game con sus ships, sus salvos y su estado de combate
+    public static final class Seat {
+
+        private final GamePlayerDTO gamePlayer;
+        private final List<ShipDTO> ships;
+        private final List<SalvoDTO> salvoes;
+        private final CombatState state;
+
+        Seat(GamePlayerDTO gamePlayer, List<ShipDTO> ships, List<SalvoDTO> salvoes, CombatState state) {
+            this.gamePlayer = gamePlayer;
+            this.ships = ships;
+            this.salvoes = salvoes;
+            this.state = state;
+        }
+
+        public long getGamePlayerId() {
+            return gamePlayer.getId();
+        }
+
+        public long getPlayerId() {
+            return gamePlayer.getPlayer().getId();
+        }
+
+        public GamePlayerDTO getGamePlayer() {
+            return gamePlayer;
+        }
+
+        public List<ShipDTO> getShips() {
+            return ships;
+        }
+
+        public List<SalvoDTO> getSalvoes() {
+            return salvoes;
+        }
+
+        public CombatState getState() {
+            return state;
+        }
+    }
+}
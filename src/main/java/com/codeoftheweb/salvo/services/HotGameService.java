@@ -0,0 +1,202 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.models.Game;
+import com.codeoftheweb.salvo.models.GamePlayer;
+import com.codeoftheweb.salvo.models.Salvo;
+import com.codeoftheweb.salvo.repositories.GamePlayerRepository;
+import com.codeoftheweb.salvo.repositories.GameRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/* Cache de los games en juego (HotGame): game_view y las validaciones de ships y salvos
+ * los leen de memoria; solo un game que no esta en el cache se carga, de su turn log si esta
+ * completo (TurnLogService.replay) o de la base.
+ * Las escrituras se guardan en la base en el buzon del game (GameCommandService) y,
+ * apenas hacen commit y antes de responder, reemplazan la foto del cache.
+ * Acotado (se descarta el game menos usado) y los games sin uso se descartan solos.
+ * Entre dos fotos del mismo game queda la de version mas alta: una carga lenta
+ * no pisa una escritura que termino antes. */
+@Service
+public class HotGameService {
+
+    private static final int MAX_GAMES = 1_000;
+    private static final long IDLE = TimeUnit.MINUTES.toNanos(30);
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GamePlayerRepository gamePlayerRepository;
+
+    @Autowired
+    private TurnLogService turnLogService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // en orden de acceso: el primero es el menos usado
+    private final LinkedHashMap<Long, Entry> games = new LinkedHashMap<Long, Entry>(256, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            if (size() > MAX_GAMES || System.nanoTime() - eldest.getValue().usedAt > IDLE) {
+                forgetGamePlayers(eldest.getValue().game);
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // id del gamePlayer -> id del game, para los games del cache
+    private final Map<Long, Long> gameIds = new HashMap<>();
+
+    public HotGameService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /* ======================= Lectura ======================= */
+
+    // Game en juego con ese id, o null si no existe
+    public HotGame get(long gameId) {
+        HotGame cached = cached(gameId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // el turn log alcanza si llega hasta la version de la base (los scores suben la version sin loguear)
+        HotGame replayed = turnLogService.replay(gameId);
+        if (replayed != null) {
+            Long version = gameRepository.findVersion(gameId);
+            if (version != null && version == replayed.getVersion()) {
+                return put(replayed);
+            }
+        }
+
+        HotGame loaded = transactionTemplate.execute(status -> {
+            Game game = gameRepository.findById(gameId).orElse(null);
+            return game == null ? null : HotGame.of(game, game.getVersion());
+        });
+        return loaded == null ? null : put(loaded);
+    }
+
+    // Game en juego del gamePlayer, o null si el gamePlayer no existe
+    public HotGame findByGamePlayer(long gamePlayerId) {
+        Long gameId;
+        synchronized (games) {
+            gameId = gameIds.get(gamePlayerId);
+        }
+        HotGame cached = gameId == null ? null : cached(gameId);
+        if (cached != null) {
+            return cached;
+        }
+
+        HotGame loaded = transactionTemplate.execute(status -> {
+            GamePlayer gamePlayer = gamePlayerRepository.findWithGameById(gamePlayerId).orElse(null);
+            return gamePlayer == null ? null : HotGame.of(gamePlayer.getGame(), gamePlayer.getGame().getVersion());
+        });
+        return loaded == null ? null : put(loaded);
+    }
+
+    // Id del game del gamePlayer (buzon de comandos), o null si el gamePlayer no existe
+    public Long findGameId(long gamePlayerId) {
+        synchronized (games) {
+            Long gameId = gameIds.get(gamePlayerId);
+            if (gameId != null) {
+                return gameId;
+            }
+        }
+        return gamePlayerRepository.findGameId(gamePlayerId);
+    }
+
+    private HotGame cached(long gameId) {
+        long now = System.nanoTime();
+        synchronized (games) {
+            Entry entry = games.get(gameId);
+            if (entry == null) {
+                return null;
+            }
+            if (now - entry.usedAt > IDLE) {
+                remove(gameId);
+                return null;
+            }
+            entry.usedAt = now;
+            return entry.game;
+        }
+    }
+
+    /* ======================= Escritura ======================= */
+
+    // Guarda la foto si es mas nueva que la del cache; devuelve la que quedo
+    public HotGame put(HotGame game) {
+        synchronized (games) {
+            Entry current = games.get(game.getId());
+            if (current != null && current.game.getVersion() > game.getVersion()) {
+                return current.game;
+            }
+            games.put(game.getId(), new Entry(game));
+            for (HotGame.Seat seat : game.getSeats()) {
+                gameIds.put(seat.getGamePlayerId(), game.getId());
+            }
+            return game;
+        }
+    }
+
+    /* Despues del commit de un salvo: resuelve solo el turno nuevo sobre la foto del cache.
+     * version: la del game con el salvo guardado. Si la foto no es la anterior a este salvo
+     * (no estaba, o cambio por otro lado) se descarta y se carga en la proxima lectura. */
+    public void salvoFired(long gameId, long gamePlayerId, Salvo salvo, long version) {
+        synchronized (games) {
+            Entry current = games.get(gameId);
+            if (current == null) {
+                return;
+            }
+            HotGame next = current.game.getVersion() == version - 1
+                    ? current.game.withSalvo(gamePlayerId, salvo, version)
+                    : null;
+            if (next == null) {
+                remove(gameId);
+            } else {
+                current.game = next;
+            }
+        }
+    }
+
+    public void evict(long gameId) {
+        synchronized (games) {
+            remove(gameId);
+        }
+    }
+
+    private void remove(long gameId) {
+        Entry removed = games.remove(gameId);
+        if (removed != null) {
+            forgetGamePlayers(removed.game);
+        }
+    }
+
+    private void forgetGamePlayers(HotGame game) {
+        for (HotGame.Seat seat : game.getSeats()) {
+            gameIds.remove(seat.getGamePlayerId());
+        }
+    }
+
+    /* ======================= Entry ======================= */
+
+    private static final class Entry {
+
+        private HotGame game;
+        private long usedAt;
+
+        Entry(HotGame game) {
+            this.game = game;
+            this.usedAt = System.nanoTime();
+        }
+    }
+}
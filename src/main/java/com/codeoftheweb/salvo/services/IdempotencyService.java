@@ -0,0 +1,117 @@
+package com.codeoftheweb.salvo.services;
+
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/* Resultados recientes de los POST con header Idempotency-Key (ships, salvos).
+ * Un reintento con la misma clave recibe la respuesta original sin volver a ejecutar el comando;
+ * si el original todavia esta en curso, espera ese mismo resultado. La clave vale para un metodo y
+ * un path, y solo con el mismo cuerpo: reusarla con otro cuerpo es un error del cliente (KeyReusedException).
+ * Acotado (se descarta el menos usado) y con vencimiento. Si el comando falla con una
+ * excepcion no se guarda, para que el reintento se ejecute de nuevo. */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_SIZE = 10_000;
+    private static final long TTL = TimeUnit.MINUTES.toNanos(10);
+
+    // en orden de acceso: el primero es el menos usado
+    private final LinkedHashMap<String, Entry> results = new LinkedHashMap<String, Entry>(256, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    /* ======================= Comandos ======================= */
+
+    /* La clave se combina con el usuario, el metodo y el path: no se comparte entre players ni endpoints.
+     * payload: el cuerpo del pedido; se guarda su hash para comparar con los reintentos */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(String userName, String method, String path, String key, String payload,
+                                            Supplier<CompletableFuture<T>> command) {
+        String id = userName + " " + method + " " + path + " " + key;
+        byte[] payloadHash = hash(payload);
+        long now = System.nanoTime();
+        CompletableFuture<T> future;
+        synchronized (results) {
+            Entry entry = results.get(id);
+            if (entry != null && now - entry.createdAt < TTL) {
+                if (!MessageDigest.isEqual(entry.payloadHash, payloadHash)) {
+                    throw new KeyReusedException(HEADER + " already used with a different request");
+                }
+                return (CompletableFuture<T>) entry.result;
+            }
+            // se reserva la clave antes de ejecutar: los reintentos simultaneos esperan este resultado
+            future = new CompletableFuture<>();
+            results.put(id, new Entry(future, payloadHash, now));
+        }
+
+        CompletableFuture<T> result = future;
+        // thenCompose: si el comando tira una excepcion al encolarse tambien libera la clave
+        CompletableFuture.completedFuture(null).thenCompose(ignored -> command.get()).whenComplete((value, error) -> {
+            if (error != null) {
+                forget(id, result);
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+        return result;
+    }
+
+    private void forget(String id, CompletableFuture<?> result) {
+        synchronized (results) {
+            Entry entry = results.get(id);
+            if (entry != null && entry.result == result) {
+                results.remove(id);
+            }
+        }
+    }
+
+    private static byte[] hash(String payload) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /* ======================= Entry ======================= */
+
+    private static final class Entry {
+
+        private final CompletableFuture<?> result;
+        private final byte[] payloadHash;
+        private final long createdAt;
+
+        Entry(CompletableFuture<?> result, byte[] payloadHash, long createdAt) {
+            this.result = result;
+            this.payloadHash = payloadHash;
+            this.createdAt = createdAt;
+        }
+    }
+
+    /* ======================= Errores ======================= */
+
+    public static class KeyReusedException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public KeyReusedException(String message) {
+            super(message);
+        }
+    }
+}
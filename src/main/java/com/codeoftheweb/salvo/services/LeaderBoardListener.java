@@ -0,0 +1,54 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.models.Player;
+import com.codeoftheweb.salvo.models.Score;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+
+/* Listener JPA de Player y Score: cada vez que se guarda uno actualiza la tabla de clasificaciones
+ * (despues del commit, para no contar scores de transacciones que se deshacen) */
+@Component
+public class LeaderBoardListener {
+
+    @Autowired
+    @Lazy
+    private LeaderBoardService leaderBoardService;
+
+    @PostPersist
+    public void persisted(Object entity) {
+        Runnable update;
+        if (entity instanceof Score) {
+            Score score = (Score) entity;
+            long playerId = score.getPlayer().getId();
+            String email = score.getPlayer().getUserName();
+            double value = score.getScore();
+            update = () -> leaderBoardService.addScore(playerId, email, value);
+        } else if (entity instanceof Player) {
+            Player player = (Player) entity;
+            long playerId = player.getId();
+            String email = player.getUserName();
+            update = () -> leaderBoardService.addPlayer(playerId, email);
+        } else {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                        update.run();
+                    }
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.repositories.ArchivedGameRepository;
+import com.codeoftheweb.salvo.repositories.PlayerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/* Tabla de clasificaciones materializada: won/lost/tied/total por player, ordenada en memoria.
+ * Se carga una vez con consultas agregadas (scores y games archivados) al iniciar y despues se actualiza cada vez
+ * que se guarda un Score (LeaderBoardListener), sin volver a recorrer los scores. */
+@Service
+public class LeaderBoardService {
+
+    // total desc, won desc, id asc
+    private static final Comparator<Standing> ORDER = Comparator
+            .comparingInt(Standing::getPoints).reversed()
+            .thenComparing(Comparator.comparingLong(Standing::getWon).reversed())
+            .thenComparingLong(Standing::getPlayerId);
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private ArchivedGameRepository archivedGameRepository;
+
+    private final Map<Long, Standing> standings = new HashMap<>();
+
+    // indice ordenado, se reemplaza entero en cada escritura (las lecturas no bloquean)
+    private volatile Standing[] ranking = new Standing[0];
+    private boolean loaded;
+
+    /* ======================= Carga ======================= */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        standings.clear();
+        for (Object[] row : playerRepository.findStandings()) {
+            Standing standing = new Standing((Long) row[0], (String) row[1],
+                    ((Number) row[2]).longValue(), ((Number) row[3]).longValue(), ((Number) row[4]).longValue());
+            standings.put(standing.getPlayerId(), standing);
+        }
+        // mas los scores de los games archivados (ya no estan en la tabla score)
+        addArchived(archivedGameRepository.findFirstSeatStandings());
+        addArchived(archivedGameRepository.findSecondSeatStandings());
+        Standing[] sorted = standings.values().toArray(new Standing[0]);
+        Arrays.sort(sorted, ORDER);
+        ranking = sorted;
+        loaded = true;
+    }
+
+    private void addArchived(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            Standing current = standings.get((Long) row[0]);
+            if (current != null) {
+                standings.put(current.getPlayerId(), new Standing(current.getPlayerId(), current.getEmail(),
+                        current.getWon() + ((Number) row[1]).longValue(),
+                        current.getLost() + ((Number) row[2]).longValue(),
+                        current.getTied() + ((Number) row[3]).longValue()));
+            }
+        }
+    }
+
+    /* ======================= Escritura ======================= */
+
+    public synchronized void addPlayer(long playerId, String email) {
+        if (loaded && !standings.containsKey(playerId)) {
+            update(null, new Standing(playerId, email, 0, 0, 0));
+        }
+    }
+
+    public synchronized void addScore(long playerId, String email, double score) {
+        if (!loaded) {
+            // la carga inicial ya lo va a contar
+            return;
+        }
+        Standing current = standings.get(playerId);
+        Standing base = current == null ? new Standing(playerId, email, 0, 0, 0) : current;
+        update(current, base.with(score));
+    }
+
+    // Saca el standing viejo del indice y agrega el nuevo en su posicion, copiando el array
+    private void update(Standing old, Standing standing) {
+        standings.put(standing.getPlayerId(), standing);
+        Standing[] current = ranking;
+        int size = current.length;
+        Standing[] without = current;
+        if (old != null) {
+            int index = Arrays.binarySearch(current, old, ORDER);
+            without = new Standing[size - 1];
+            System.arraycopy(current, 0, without, 0, index);
+            System.arraycopy(current, index + 1, without, index, size - index - 1);
+            size--;
+        }
+        int insert = -Arrays.binarySearch(without, standing, ORDER) - 1;
+        Standing[] next = new Standing[size + 1];
+        System.arraycopy(without, 0, next, 0, insert);
+        next[insert] = standing;
+        System.arraycopy(without, insert, next, insert + 1, size - insert);
+        ranking = next;
+    }
+
+    /* ======================= Lectura ======================= */
+
+    // Pagina de la tabla ordenada
+    public List<Standing> getTop(int page, int size) {
+        Standing[] current = ranking;
+        int from = Math.min(page * size, current.length);
+        int to = Math.min(from + size, current.length);
+        return Collections.unmodifiableList(Arrays.asList(current).subList(from, to));
+    }
+
+    public Standing getStanding(long playerId) {
+        synchronized (this) {
+            return standings.get(playerId);
+        }
+    }
+
+    // Posicion 1..n del player; los empatados en puntos comparten la posicion
+    public int getRank(Standing standing) {
+        Standing[] current = ranking;
+        int low = 0, high = current.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (current[middle].getPoints() > standing.getPoints()) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low + 1;
+    }
+
+    public int getTotalPlayers() {
+        return ranking.length;
+    }
+
+    /* ======================= Standing ======================= */
+
+    public static final class Standing {
+
+        private final long playerId;
+        private final String email;
+        private final long won;
+        private final long lost;
+        private final long tied;
+
+        public Standing(long playerId, String email, long won, long lost, long tied) {
+            this.playerId = playerId;
+            this.email = email;
+            this.won = won;
+            this.lost = lost;
+            this.tied = tied;
+        }
+
+        private Standing with(double score) {
+            if (score == 1.0D) {
+                return new Standing(playerId, email, won + 1, lost, tied);
+            }
+            if (score == 0.5D) {
+                return new Standing(playerId, email, won, lost, tied + 1);
+            }
+            return new Standing(playerId, email, won, lost + 1, tied);
+        }
+
+        public long getPlayerId() {
+            return playerId;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public long getWon() {
+            return won;
+        }
+
+        public long getLost() {
+            return lost;
+        }
+
+        public long getTied() {
+            return tied;
+        }
+
+        // total en medios puntos (won = 2, tied = 1) para comparar sin doubles
+        public int getPoints() {
+            return (int) (won * 2 + tied);
+        }
+
+        public double getTotal() {
+            return won * 1.0D + tied * 0.5D;
+        }
+
+        public long getPlayed() {
+            return won + lost + tied;
+        }
+    }
+}
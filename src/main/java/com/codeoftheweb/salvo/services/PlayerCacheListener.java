@@ -0,0 +1,41 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.models.Player;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/* Listener JPA de Player: saca al player del cache de autenticacion cuando se crea,
+ * cambia (por ejemplo el password) o se borra. Se invalida al terminar la transaccion
+ * para que una lectura concurrente no vuelva a cachear el valor viejo. */
+@Component
+public class PlayerCacheListener {
+
+    @Autowired
+    @Lazy
+    private PlayerCacheService playerCacheService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Player player) {
+        long playerId = player.getId();
+        String userName = player.getUserName();
+        playerCacheService.invalidate(playerId, userName);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    playerCacheService.invalidate(playerId, userName);
+                }
+            });
+        }
+    }
+}
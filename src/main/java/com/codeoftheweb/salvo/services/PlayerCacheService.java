@@ -0,0 +1,107 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.models.Player;
+import com.codeoftheweb.salvo.repositories.PlayerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/* Cache de username -> id y credenciales del player, para el login y para resolver
+ * el usuario autenticado en cada request sin ir a la base.
+ * Acotado (se descarta el menos usado) y con vencimiento; PlayerCacheListener
+ * invalida la entrada cuando un Player se crea, cambia o se borra. Cada invalidacion sube
+ * la generacion: una lectura de la base que empezo antes no se guarda encima. */
+@Service
+public class PlayerCacheService {
+
+    private static final int MAX_SIZE = 10_000;
+    private static final long TTL = TimeUnit.MINUTES.toNanos(10);
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    // en orden de acceso: el primero es el menos usado
+    private final LinkedHashMap<String, CachedPlayer> players = new LinkedHashMap<String, CachedPlayer>(256, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedPlayer> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    // sube con cada invalidacion (con el lock de players)
+    private long generation;
+
+    /* ======================= Lectura ======================= */
+
+    // Player con ese username, o null si no existe
+    public CachedPlayer find(String userName) {
+        long now = System.nanoTime();
+        long loadedGeneration;
+        synchronized (players) {
+            CachedPlayer cached = players.get(userName);
+            if (cached != null && now - cached.loadedAt < TTL) {
+                return cached;
+            }
+            loadedGeneration = generation;
+        }
+
+        // la consulta se hace fuera del lock
+        Player player = playerRepository.findByUserName(userName);
+        if (player == null) {
+            return null;
+        }
+        CachedPlayer cached = new CachedPlayer(player.getId(), player.getUserName(), player.getPassword(), now);
+        synchronized (players) {
+            // si se invalido algo mientras se consultaba, el player leido puede ser viejo: no se guarda
+            if (generation == loadedGeneration) {
+                players.put(userName, cached);
+            }
+        }
+        return cached;
+    }
+
+    /* ======================= Invalidacion ======================= */
+
+    // por username y por id, por si el player cambio de username (escrituras raras: recorre el cache)
+    public void invalidate(long playerId, String userName) {
+        synchronized (players) {
+            generation++;
+            players.remove(userName);
+            players.values().removeIf(cached -> cached.getId() == playerId);
+        }
+    }
+
+    /* ======================= CachedPlayer ======================= */
+
+    public static final class CachedPlayer {
+
+        private final long id;
+        private final String userName;
+        private final String password;
+        private final long loadedAt;
+
+        CachedPlayer(long id, String userName, String password, long loadedAt) {
+            this.id = id;
+            this.userName = userName;
+            this.password = password;
+            this.loadedAt = loadedAt;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getUserName() {
+            return userName;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+    }
+}
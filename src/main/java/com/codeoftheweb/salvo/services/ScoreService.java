@@ -0,0 +1,167 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.models.Player;
+import com.codeoftheweb.salvo.models.Score;
+import com.codeoftheweb.salvo.repositories.GameRepository;
+import com.codeoftheweb.salvo.repositories.PlayerRepository;
+import com.codeoftheweb.salvo.repositories.ScoreRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/* Scores de los games terminados, fuera de la request: el salvo que termina un game lo marca
+ * (finish_date) y lo encola aca despues del commit. Un solo hilo guarda los scores de todo lo
+ * encolado, de a lotes, en una transaccion por lote (inserts en batch); LeaderBoardListener
+ * actualiza la tabla de clasificaciones con cada score despues del commit.
+ * Si un lote falla (o la aplicacion se cae antes de guardarlo) los games quedan terminados sin
+ * scores: al iniciar y cada cierto tiempo se vuelven a encolar. Un game que ya tiene scores
+ * no se puntua dos veces. */
+@Service
+public class ScoreService {
+
+    private static final int BATCH_SIZE = 100;
+    // un game terminado hace menos que esto puede estar todavia en la cola
+    private static final long RECOVER_AFTER = TimeUnit.MINUTES.toMillis(1);
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Autowired
+    private HotGameService hotGameService;
+
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<FinishedGame> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public ScoreService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writer = new Thread(this::writeScores, "score-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /* ======================= Cola ======================= */
+
+    // Despues del commit del salvo que termino el game
+    public void gameFinished(HotGame game, Date finishDate) {
+        queue.add(new FinishedGame(game.getId(), finishDate, game.getResults()));
+    }
+
+    // con la tabla de clasificaciones ya cargada: lo que se guarde de aca en mas la actualiza
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        recoverUnscoredGames();
+        writer.start();
+    }
+
+    @Scheduled(initialDelay = 300_000, fixedDelay = 300_000)
+    public void recoverUnscoredGames() {
+        for (Object[] row : gameRepository.findFinishedWithoutScores(
+                new Date(System.currentTimeMillis() - RECOVER_AFTER))) {
+            HotGame game = hotGameService.get((Long) row[0]);
+            if (game != null && game.isFinished()) {
+                gameFinished(game, (Date) row[1]);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        // lo que quedo en la cola se guarda antes de cerrar
+        List<FinishedGame> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        if (!pending.isEmpty()) {
+            write(pending);
+        }
+    }
+
+    /* ======================= Escritura ======================= */
+
+    private void writeScores() {
+        List<FinishedGame> batch = new ArrayList<>(BATCH_SIZE);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            // lo que se junto mientras se guardaba el lote anterior va en este
+            queue.drainTo(batch, BATCH_SIZE - 1);
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                // quedan terminados sin scores: recoverUnscoredGames los vuelve a encolar
+            }
+            batch.clear();
+        }
+    }
+
+    // Scores de un lote de games terminados, en una transaccion; devuelve cuantos se guardaron
+    int write(List<FinishedGame> batch) {
+        Integer saved = transactionTemplate.execute(status -> {
+            Map<Long, FinishedGame> games = new LinkedHashMap<>();
+            Set<Long> playerIds = new HashSet<>();
+            for (FinishedGame game : batch) {
+                games.putIfAbsent(game.gameId, game);
+                playerIds.addAll(game.results.keySet());
+            }
+            games.keySet().removeAll(scoreRepository.findScoredGames(games.keySet()));
+            if (games.isEmpty()) {
+                return 0;
+            }
+
+            // los players del lote en una consulta (LeaderBoardListener lee su userName)
+            Map<Long, Player> players = new HashMap<>();
+            for (Player player : playerRepository.findAllById(playerIds)) {
+                players.put(player.getId(), player);
+            }
+            List<Score> scores = new ArrayList<>(games.size() * 2);
+            for (FinishedGame game : games.values()) {
+                for (Map.Entry<Long, Double> result : game.results.entrySet()) {
+                    scores.add(new Score(gameRepository.getOne(game.gameId), players.get(result.getKey()),
+                            result.getValue(), game.finishDate));
+                }
+            }
+            scoreRepository.saveAll(scores);
+            // el lobby muestra los scores: cambia su ETag
+            gameRepository.bumpVersions(games.keySet());
+            return scores.size();
+        });
+        return saved == null ? 0 : saved;
+    }
+
+    /* ======================= FinishedGame ======================= */
+
+    static final class FinishedGame {
+
+        private final long gameId;
+        private final Date finishDate;
+        // id del player -> puntaje
+        private final Map<Long, Double> results;
+
+        FinishedGame(long gameId, Date finishDate, Map<Long, Double> results) {
+            this.gameId = gameId;
+            this.finishDate = finishDate;
+            this.results = results;
+        }
+    }
+}
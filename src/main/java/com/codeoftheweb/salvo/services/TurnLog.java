@@ -0,0 +1,191 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.engine.Bitboard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/* Log binario de un game, solo para agregar: un registro de 32 bytes por create, join, ship y salvo,
+ * escrito sobre un FileChannel mapeado en memoria (escribir es copiar 32 bytes en la pagina).
+ *
+ * Archivo: cabecera de 16 bytes (magic, version del formato, cantidad de registros) y los registros.
+ * Registro: tipo (1) | arg (1) | turn (2) | version del game (4) | gamePlayerId (8) | low (8) | high (8)
+ * La cantidad de la cabecera se actualiza despues de escribir el registro: un registro a medio
+ * escribir cuando se corta el proceso queda afuera de la cantidad y no se lee. */
+public final class TurnLog implements Closeable {
+
+    public static final byte CREATE = 1;
+    public static final byte JOIN = 2;
+    public static final byte SHIP = 3;
+    public static final byte SALVO = 4;
+
+    static final int MAGIC = 0x534C5654; // "SLVT"
+    static final int FORMAT = 1;
+    static final int HEADER = 16;
+    static final int RECORD = 32;
+    private static final int CHUNK = 64 * 1024; // 2047 registros: un game entero en un solo mapeo
+
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int count;
+
+    /* ======================= Constructor ======================= */
+
+    private TurnLog(FileChannel channel, MappedByteBuffer buffer, int count) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.count = count;
+    }
+
+    // Abre el log del archivo (lo crea si no existe); truncate: empieza vacio
+    public static TurnLog open(Path file, boolean truncate) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (truncate) {
+                channel.truncate(0);
+            }
+            long size = Math.max(channel.size(), CHUNK);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            int count = 0;
+            if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == FORMAT) {
+                count = (int) Math.min(buffer.getLong(8), (size - HEADER) / RECORD);
+            } else {
+                buffer.putInt(0, MAGIC).putInt(4, FORMAT).putLong(8, 0);
+            }
+            return new TurnLog(channel, buffer, count);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /* ======================= Escritura ======================= */
+
+    public synchronized void append(Entry entry) throws IOException {
+        int position = HEADER + count * RECORD;
+        if (position + RECORD > buffer.capacity()) {
+            // el archivo crece de a bloques y se vuelve a mapear
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, buffer.capacity() + (long) CHUNK);
+        }
+        buffer.put(position, entry.type)
+                .put(position + 1, entry.arg)
+                .putShort(position + 2, (short) entry.turn)
+                .putInt(position + 4, (int) entry.version)
+                .putLong(position + 8, entry.gamePlayerId)
+                .putLong(position + 16, entry.low)
+                .putLong(position + 24, entry.high);
+        count++;
+        buffer.putLong(8, count);
+    }
+
+    /* ======================= Lectura ======================= */
+
+    public synchronized List<Entry> read() {
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int position = HEADER + i * RECORD;
+            entries.add(new Entry(buffer.get(position), buffer.get(position + 1), buffer.getShort(position + 2),
+                    buffer.getInt(position + 4), buffer.getLong(position + 8),
+                    buffer.getLong(position + 16), buffer.getLong(position + 24)));
+        }
+        return Collections.unmodifiableList(entries);
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    // Baja las paginas escritas al disco (sin esto las escribe el sistema operativo cuando quiere)
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    /* ======================= Entry ======================= */
+
+    // Un registro del log; low/high son las celdas (ship, salvo) o los datos del create y del join
+    public static final class Entry {
+
+        private final byte type;
+        private final byte arg;
+        private final int turn;
+        private final long version;
+        private final long gamePlayerId;
+        private final long low;
+        private final long high;
+
+        Entry(byte type, byte arg, int turn, long version, long gamePlayerId, long low, long high) {
+            this.type = type;
+            this.arg = arg;
+            this.turn = turn;
+            this.version = version;
+            this.gamePlayerId = gamePlayerId;
+            this.low = low;
+            this.high = high;
+        }
+
+        // low: fecha de creacion
+        public static Entry created(long version, long created) {
+            return new Entry(CREATE, (byte) 0, 0, version, 0, created, 0);
+        }
+
+        // low: id del player, high: fecha del join
+        public static Entry joined(long version, long gamePlayerId, long playerId, long joinDate) {
+            return new Entry(JOIN, (byte) 0, 0, version, gamePlayerId, playerId, joinDate);
+        }
+
+        // arg: ordinal de ShipType (-1 si el tipo no es conocido)
+        public static Entry ship(long version, long gamePlayerId, int shipType, Bitboard cells) {
+            return new Entry(SHIP, (byte) shipType, 0, version, gamePlayerId, cells.getLow(), cells.getHigh());
+        }
+
+        public static Entry salvo(long version, long gamePlayerId, int turn, Bitboard cells) {
+            return new Entry(SALVO, (byte) 0, turn, version, gamePlayerId, cells.getLow(), cells.getHigh());
+        }
+
+        public byte getType() {
+            return type;
+        }
+
+        public int getArg() {
+            return arg;
+        }
+
+        public int getTurn() {
+            return turn;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public long getGamePlayerId() {
+            return gamePlayerId;
+        }
+
+        public long getLow() {
+            return low;
+        }
+
+        public long getHigh() {
+            return high;
+        }
+
+        public Bitboard getCells() {
+            return new Bitboard(low, high);
+        }
+    }
+}
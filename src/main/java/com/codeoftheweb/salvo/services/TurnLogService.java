@@ -0,0 +1,301 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.engine.Bitboard;
+import com.codeoftheweb.salvo.engine.ShipType;
+import com.codeoftheweb.salvo.models.*;
+import com.codeoftheweb.salvo.repositories.GameRepository;
+import com.codeoftheweb.salvo.repositories.PlayerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/* Turn log de cada game (TurnLog): un archivo game-<id>.log con el create, los joins, los ships
+ * y los salvos en el orden en que hicieron commit. Se escribe despues del commit de la base, asi
+ * que es un derivado de la base: si el proceso se corta entre los dos, al log le falta la ultima
+ * jugada, nunca tiene una que la base no tenga.
+ * Solo se loguean los games creados con el log activo: un game sin su create (los de initData,
+ * o uno cuyo log fallo) no se escribe. replay arma el game desde el log, sin JPA: HotGameService
+ * lo usa para cargar un game que no esta en el cache.
+ * Los ids de game se repiten entre corridas (base en memoria): un log que ya existia se usa solo si
+ * su create tiene la fecha de creacion del game de la base; si no, es de otra corrida y se borra.
+ * Cada game se escribe y se lee bajo su lock (en franjas por id): games distintos no se esperan. */
+@Service
+public class TurnLogService {
+
+    private static final int MAX_OPEN = 256;
+    private static final int UNKNOWN_TYPE = -1;
+    private static final int LOCKS = 64;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    private final Path dir;
+    private final Object[] locks = new Object[LOCKS];
+
+    // logs abiertos, en orden de acceso: el menos usado sale del mapa y se cierra bajo el lock de su game
+    private final LinkedHashMap<Long, TurnLog> logs = new LinkedHashMap<Long, TurnLog>(64, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, TurnLog> eldest) {
+            if (size() > MAX_OPEN) {
+                evicted.add(eldest);
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // sacados de logs y todavia sin cerrar (con el lock de logs)
+    private final List<Map.Entry<Long, TurnLog>> evicted = new ArrayList<>();
+
+    public TurnLogService(@Value("${salvo.turn-log.dir}") String dir) throws IOException {
+        this.dir = Files.createDirectories(Paths.get(dir));
+        for (int i = 0; i < LOCKS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /* ======================= Escritura ======================= */
+
+    public void gameCreated(long gameId, long version, Date created) {
+        append(gameId, TurnLog.Entry.created(version, created.getTime()), true);
+    }
+
+    public void gamePlayerJoined(long gameId, long version, long gamePlayerId, long playerId, Date joinDate) {
+        append(gameId, TurnLog.Entry.joined(version, gamePlayerId, playerId, joinDate.getTime()), false);
+    }
+
+    public void shipsPlaced(long gameId, long version, long gamePlayerId, Collection<Ship> ships) {
+        for (Ship ship : ships) {
+            ShipType type = ShipType.of(ship.getType());
+            append(gameId, TurnLog.Entry.ship(version, gamePlayerId, type == null ? UNKNOWN_TYPE : type.ordinal(),
+                    Bitboard.of(ship.getLocations())), false);
+        }
+    }
+
+    public void salvoFired(long gameId, long version, long gamePlayerId, Salvo salvo) {
+        append(gameId, TurnLog.Entry.salvo(version, gamePlayerId, salvo.getTurn(),
+                Bitboard.of(salvo.getSalvoLocations())), false);
+    }
+
+    // el game se archivo: su log ya no hace falta
+    public void delete(long gameId) {
+        synchronized (lock(gameId)) {
+            closeQuietly(forget(gameId));
+            try {
+                Files.deleteIfExists(file(gameId));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /* un log que no se pudo escribir se borra: queda un game sin log (como los de initData)
+     * en lugar de un log al que le falta una jugada */
+    private void append(long gameId, TurnLog.Entry entry, boolean create) {
+        synchronized (lock(gameId)) {
+            try {
+                TurnLog log = open(gameId, create);
+                if (log != null) {
+                    log.append(entry);
+                }
+            } catch (IOException e) {
+                delete(gameId);
+            }
+        }
+        closeEvicted();
+    }
+
+    /* ======================= Lectura ======================= */
+
+    // registros del log del game; vacio si el game no tiene log
+    public List<TurnLog.Entry> read(long gameId) {
+        List<TurnLog.Entry> entries;
+        synchronized (lock(gameId)) {
+            try {
+                TurnLog log = open(gameId, false);
+                entries = log == null ? Collections.<TurnLog.Entry>emptyList() : log.read();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        closeEvicted();
+        return entries;
+    }
+
+    /* Arma la foto del game (HotGame) desde su log: las entidades son transitorias y solo se busca
+     * en la base el email de cada player. null si el game no tiene log. */
+    public HotGame replay(long gameId) {
+        List<TurnLog.Entry> entries = read(gameId);
+        if (entries.isEmpty() || entries.get(0).getType() != TurnLog.CREATE) {
+            return null;
+        }
+
+        Set<Long> playerIds = new HashSet<>();
+        for (TurnLog.Entry entry : entries) {
+            if (entry.getType() == TurnLog.JOIN) {
+                playerIds.add(entry.getLow());
+            }
+        }
+        Map<Long, Player> players = new HashMap<>();
+        for (Player player : playerRepository.findAllById(playerIds)) {
+            players.put(player.getId(), player);
+        }
+
+        Game game = new Game(new Date(entries.get(0).getLow()));
+        game.setId(gameId);
+        Map<Long, GamePlayer> gamePlayers = new HashMap<>();
+        long version = 0;
+        for (TurnLog.Entry entry : entries) {
+            version = Math.max(version, entry.getVersion());
+            GamePlayer gamePlayer = gamePlayers.get(entry.getGamePlayerId());
+            switch (entry.getType()) {
+                case TurnLog.JOIN:
+                    gamePlayer = new GamePlayer(new Date(entry.getHigh()), game, player(players, entry.getLow()));
+                    gamePlayer.setId(entry.getGamePlayerId());
+                    gamePlayer.setShips(new LinkedHashSet<>());
+                    gamePlayer.setSalvos(new LinkedHashSet<>());
+                    game.addGamePlayer(gamePlayer);
+                    gamePlayers.put(gamePlayer.getId(), gamePlayer);
+                    break;
+                case TurnLog.SHIP:
+                    if (gamePlayer == null) {
+                        break;
+                    }
+                    gamePlayer.addShip(new Ship(gamePlayer, typeName(entry.getArg()),
+                            new LinkedHashSet<>(entry.getCells().toLocations())));
+                    break;
+                case TurnLog.SALVO:
+                    if (gamePlayer == null) {
+                        break;
+                    }
+                    gamePlayer.addSalvo(new Salvo(entry.getTurn(), gamePlayer,
+                            new LinkedHashSet<>(entry.getCells().toLocations())));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return HotGame.of(game, version);
+    }
+
+    private static Player player(Map<Long, Player> players, long playerId) {
+        Player player = players.get(playerId);
+        if (player == null) {
+            // el player ya no existe: se arma sin email
+            player = new Player();
+            player.setId(playerId);
+        }
+        return player;
+    }
+
+    private static String typeName(int ordinal) {
+        return ordinal >= 0 && ordinal < ShipType.values().length ? ShipType.values()[ordinal].getName() : null;
+    }
+
+    /* ======================= Archivos ======================= */
+
+    /* el log abierto del game (con el lock del game); create: uno nuevo y vacio;
+     * null si no existe y no se crea, o si es de otra corrida */
+    private TurnLog open(long gameId, boolean create) throws IOException {
+        TurnLog log;
+        synchronized (logs) {
+            log = logs.get(gameId);
+        }
+        if (create) {
+            closeQuietly(forget(gameId));
+            log = null;
+        }
+        if (log == null) {
+            Path file = file(gameId);
+            if (!create && !Files.exists(file)) {
+                return null;
+            }
+            log = TurnLog.open(file, create);
+            if (!create && !isCurrent(gameId, log)) {
+                closeQuietly(log);
+                Files.deleteIfExists(file);
+                return null;
+            }
+            synchronized (logs) {
+                logs.put(gameId, log);
+            }
+        }
+        return log;
+    }
+
+    // el create del log tiene la fecha de creacion del game de la base
+    private boolean isCurrent(long gameId, TurnLog log) {
+        List<TurnLog.Entry> entries = log.read();
+        if (entries.isEmpty() || entries.get(0).getType() != TurnLog.CREATE) {
+            return false;
+        }
+        Date created = gameRepository.findCreationDate(gameId);
+        return created != null && created.getTime() == entries.get(0).getLow();
+    }
+
+    private TurnLog forget(long gameId) {
+        synchronized (logs) {
+            return logs.remove(gameId);
+        }
+    }
+
+    /* cierra los logs que salieron del mapa, cada uno bajo el lock de su game (sin tener otro lock:
+     * el hilo que lo estaba usando termina antes) */
+    private void closeEvicted() {
+        List<Map.Entry<Long, TurnLog>> closing;
+        synchronized (logs) {
+            if (evicted.isEmpty()) {
+                return;
+            }
+            closing = new ArrayList<>(evicted);
+            evicted.clear();
+        }
+        for (Map.Entry<Long, TurnLog> entry : closing) {
+            synchronized (lock(entry.getKey())) {
+                closeQuietly(entry.getValue());
+            }
+        }
+    }
+
+    private Object lock(long gameId) {
+        return locks[(int) Math.floorMod(gameId, (long) LOCKS)];
+    }
+
+    private Path file(long gameId) {
+        return dir.resolve("game-" + gameId + ".log");
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (logs) {
+            for (TurnLog log : logs.values()) {
+                closeQuietly(log);
+            }
+            logs.clear();
+        }
+        closeEvicted();
+    }
+
+    private static void closeQuietly(TurnLog log) {
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                // el log queda como estaba en las paginas ya escritas
+            }
+        }
+    }
+}
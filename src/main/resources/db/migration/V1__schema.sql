@@ -0,0 +1,84 @@
+-- Esquema inicial. Hibernate solo lo valida (spring.jpa.hibernate.ddl-auto=validate):
+-- los cambios de esquema se agregan como migraciones nuevas (V2__..., V3__...), nunca editando esta.
+
+create sequence ship_seq start with 1 increment by 50;
+create sequence salvo_seq start with 1 increment by 50;
+
+/* ======================= Tablas ======================= */
+
+create table player (
+    id bigint generated by default as identity,
+    password varchar(255),
+    user_name varchar(255),
+    primary key (id)
+);
+
+create table game (
+    id bigint generated by default as identity,
+    creation_date timestamp,
+    score double not null,
+    version bigint not null,
+    primary key (id)
+);
+
+create table game_player (
+    id bigint generated by default as identity,
+    join_date timestamp,
+    game_id bigint,
+    player_id bigint,
+    primary key (id)
+);
+
+-- locations: las celdas en 16 bytes (CellSetConverter)
+create table ship (
+    id bigint not null,
+    locations varbinary(16),
+    type varchar(255),
+    game_player_id bigint,
+    primary key (id)
+);
+
+create table salvo (
+    id bigint not null,
+    locations varbinary(16),
+    turn integer not null,
+    game_player_id bigint,
+    primary key (id)
+);
+
+-- game_player_id de score es el id del game (Score.game, @JoinColumn "gamePlayer_id")
+create table score (
+    id bigint generated by default as identity,
+    finish_date timestamp,
+    score double not null,
+    game_player_id bigint,
+    player_id bigint,
+    primary key (id)
+);
+
+/* ======================= Indices ======================= */
+
+-- antes de las claves foraneas: H2 usa estos indices para ellas en vez de crear los suyos
+
+-- login y usuario autenticado (PlayerCacheService)
+create unique index idx_player_username on player (user_name);
+-- lobby del mas nuevo al mas viejo, con cursor (creation_date, id)
+create index idx_game_creation on game (creation_date, id);
+-- gamePlayers de un game (lobby, asientos) y games de un player (filtro mine)
+create index idx_game_player_game on game_player (game_id);
+create index idx_game_player_player on game_player (player_id);
+-- ships y salvos de los gamePlayers (carga de un game en el cache)
+create index idx_ship_game_player on ship (game_player_id);
+create index idx_salvo_game_player on salvo (game_player_id);
+-- scores de los games de una pagina del lobby y de un player (tabla de clasificaciones)
+create index idx_score_game on score (game_player_id);
+create index idx_score_player on score (player_id);
+
+/* ======================= Claves foraneas ======================= */
+
+alter table game_player add constraint fk_game_player_game foreign key (game_id) references game;
+alter table game_player add constraint fk_game_player_player foreign key (player_id) references player;
+alter table ship add constraint fk_ship_game_player foreign key (game_player_id) references game_player;
+alter table salvo add constraint fk_salvo_game_player foreign key (game_player_id) references game_player;
+alter table score add constraint fk_score_game foreign key (game_player_id) references game;
+alter table score add constraint fk_score_player foreign key (player_id) references player;
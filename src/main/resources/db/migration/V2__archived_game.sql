@@ -0,0 +1,20 @@
+-- Games terminados archivados (GameArchiveService): una fila por game con el documento completo
+-- (gamePlayers, ships, salvos y scores en JSON). Los players y sus puntajes quedan en columnas
+-- para la historia de un player y la carga de la tabla de clasificaciones.
+
+create table archived_game (
+    id bigint not null,
+    creation_date timestamp,
+    finish_date timestamp,
+    archived_date timestamp,
+    first_player_id bigint,
+    first_score double,
+    second_player_id bigint,
+    second_score double,
+    data clob,
+    primary key (id)
+);
+
+-- historia de un player, del game terminado mas nuevo al mas viejo
+create index idx_archived_game_first_player on archived_game (first_player_id, finish_date);
+create index idx_archived_game_second_player on archived_game (second_player_id, finish_date);
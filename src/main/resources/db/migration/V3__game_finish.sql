@@ -0,0 +1,7 @@
+-- Fin del game: lo marca el salvo que lo termina, en la misma transaccion. Los scores se guardan
+-- despues (ScoreService); un game con finish_date y sin scores todavia no se puntuo.
+
+alter table game add column finish_date timestamp;
+
+-- games terminados sin puntuar (ScoreService los vuelve a encolar)
+create index idx_game_finish on game (finish_date);
@@ -15,6 +15,7 @@ var salvoPositions = [];
 var waitState = false;
 
 refreshGameView(makeUrl());
+var gameEvents = subscribeGameEvents();
 
 $('#logoutButton').on('click', function (event) {
     event.preventDefault();
@@ -46,6 +47,51 @@ function makeUrl() {
     return '/api/game_view/' + gamePlayerID;
 }
 
+function makeEventsUrl() {
+    return makeUrl() + '/events';
+}
+
+// el servidor avisa por Server-Sent Events cuando cambia el game, sin polling
+function subscribeGameEvents() {
+    if (!window.EventSource) {
+        return null;
+    }
+    var source = new EventSource(makeEventsUrl());
+    var opened = false;
+    source.addEventListener('state', function () {
+        refreshGameView(makeUrl());
+        console.log("...refreshing gameview...");
+    });
+    // al reconectar se pudieron perder eventos: se vuelve a pedir el game_view
+    source.onopen = function () {
+        if (opened) {
+            refreshGameView(makeUrl());
+        }
+        opened = true;
+    };
+    // si el navegador se rinde y cierra la conexion se vuelve al polling
+    source.onerror = function () {
+        if (source.readyState === EventSource.CLOSED && gameEvents === source) {
+            gameEvents = null;
+            refreshGameView(makeUrl());
+        }
+    };
+    return source;
+}
+
+// solo hace polling sin EventSource: el navegador no lo soporta o la conexion se cerro
+function waitForUpdate() {
+    if (gameEvents === null) {
+        setTimeout(
+            function()
+            {
+                refreshGameView(makeUrl());
+                console.log("...refreshing gameview...");
+
+            }, 5000);
+    }
+}
+
 function makePostUrl() {
     var gamePlayerID =  getParameterByName("gp");
     return '/api/games/players/' + gamePlayerID + '/ships';
@@ -85,13 +131,7 @@ function refreshGameView(_url) {
             if (gamePlayerData.gameState === "WAITINGFOROPP"){
                 $('#battleGrids').show('puff', 'slow');
                 waitState = true;
-                setTimeout(
-                    function()
-                    {
-                        refreshGameView(makeUrl());
-                        console.log("...refreshing gameview...");
-
-                    }, 5000);
+                waitForUpdate();
             }
 
             if (gamePlayerData.gameState === "WON"){
@@ -123,13 +163,7 @@ function refreshGameView(_url) {
                 $('#salvoBlock').hide('puff', 'slow');
                 $('#gameRecordBlock').show('puff', 'slow');
                 waitState = true;
-                setTimeout(
-                    function()
-                    {
-                        refreshGameView(makeUrl());
-                        console.log("...refreshing gameview...");
-
-                    }, 5000);
+                waitForUpdate();
             }
             if (gamePlayerData.gameState == "PLAY"){
                 showSelf(gamePlayerData);
@@ -300,12 +334,23 @@ function createTable(player) {
     mytable.appendTo(gridId);
 }
 
-function postShipLocations (postUrl) {
+// clave por accion del usuario: los reintentos la repiten y el servidor devuelve la respuesta original
+function newIdempotencyKey() {
+    return Date.now().toString(36) + "-" + Math.random().toString(36).substring(2);
+}
+
+// reintenta solo si no llego respuesta (error de red), con la misma clave
+var POST_RETRIES = 2;
+
+function postShipLocations (postUrl, idempotencyKey, retries) {
+    idempotencyKey = idempotencyKey || newIdempotencyKey();
+    retries = retries === undefined ? POST_RETRIES : retries;
     $.post({
         url: postUrl,
         data: shipsJSON,
         dataType: "text",
-        contentType: "application/json"
+        contentType: "application/json",
+        headers: { "Idempotency-Key": idempotencyKey }
     })
         .done(function (response) {
             console.log(response);
@@ -315,24 +360,31 @@ function postShipLocations (postUrl) {
                 function()
                 {
                     $('#placingShipsBoard').hide("slow");
-                    refreshGameView(makeUrl());
 
                 }, 4000);
+            waitForUpdate();
 
         })
         .fail(function (response) {
             console.log(response);
+            if (response.status === 0 && retries > 0) {
+                postShipLocations(postUrl, idempotencyKey, retries - 1);
+                return;
+            }
             $('#errorShips').text(JSON.parse(response.responseText).error);
             $('#errorShips').show( "slow" ).delay(4000).hide( "slow" );
         })
 }
 
-function postSalvo (postUrl) {
+function postSalvo (postUrl, idempotencyKey, retries) {
+    idempotencyKey = idempotencyKey || newIdempotencyKey();
+    retries = retries === undefined ? POST_RETRIES : retries;
     $.post({
         url: postUrl,
         data: salvoJSON,
         dataType: "text",
-        contentType: "application/json"
+        contentType: "application/json",
+        headers: { "Idempotency-Key": idempotencyKey }
     })
         .done(function (response) {
             console.log(response);
@@ -342,15 +394,14 @@ function postSalvo (postUrl) {
             $('.oppCell').removeClass('caught--it');
             $('#salvoBlock').empty();
             waitState = false;
-
-            setTimeout(
-                function()
-                {
-                    refreshGameView(makeUrl());
-                }, 4000);
+            waitForUpdate();
         })
         .fail(function (response) {
             console.log(response);
+            if (response.status === 0 && retries > 0) {
+                postSalvo(postUrl, idempotencyKey, retries - 1);
+                return;
+            }
             $('#errorSalvo').text(JSON.parse(response.responseText).error);
             $('#errorSalvo').show( "slow" ).delay(4000).hide( "slow" );
         })
@@ -1,6 +1,5 @@
 var data;
 var gamesData;
-var playersArray;
 var submitButton;
 
 updateJson();
@@ -153,10 +152,21 @@ function updateJson() {
         });
 }
 
+// el lobby viene de a paginas: next es el cursor de la siguiente (null en la ultima)
+$('#loadMoreGames').click(function (e) {
+        e.preventDefault();
+        fetchJson('/api/games?after=' + encodeURIComponent(data.next)).then(function (json) {
+            data.next = json.next;
+            gamesData = gamesData.concat(json.games);
+            showGamesTable(gamesData);
+        }).catch(function (error) {
+            // do something getting JSON fails
+        });
+});
+
 function updateView() {
         showGamesTable(gamesData);
-        addScoresToPlayersArray(getPlayers(gamesData));
-        showScoreBoard(playersArray);
+        updateScoreBoard();
         if (data.player == "Guest") {
             $('#currentPlayer').text(data.player);
             $('#logout-form').hide("slow");
@@ -184,7 +194,7 @@ function showGamesTable(gamesData) {
 
             var DateCreated = new Date(gamesData[i].created);
             DateCreated = DateCreated.getMonth() + 1 + "/" + DateCreated.getDate() + " " + DateCreated.getHours() + ":" + DateCreated.getMinutes();
-            var row = $('<tr></tr>').prependTo(table);
+            var row = $('<tr></tr>').appendTo(table);
             $('<td class="textCenter">' + gamesData[i].id + '</td>').appendTo(row);
             $('<td>' + DateCreated + '</td>').appendTo(row);
 
@@ -195,9 +205,14 @@ function showGamesTable(gamesData) {
                 if (gamesData[i].gamePlayers.length == 2) {
                     $('<td>' + gamesData[i].gamePlayers[j].player.email + '</td>').appendTo(row);
                 }
-                if (gamesData[i].gamePlayers.length == 1 && (data.player == "Guest" || data.player.id == gamesData[i].gamePlayers[j].player.id)) {
+                if (gamesData[i].gamePlayers.length == 1 && data.player == "Guest") {
                     $('<td>' + gamesData[i].gamePlayers[0].player.email + '</td><td class="yellow500">WAITING FOR PLAYER</td>').appendTo(row);
                 }
+                if (gamesData[i].gamePlayers.length == 1 && data.player != "Guest" && data.player.id == gamesData[i].gamePlayers[j].player.id) {
+                    $('<td>' + gamesData[i].gamePlayers[0].player.email + '</td><td class="yellow500">WAITING FOR PLAYER '
+                        + '<button class="playBotButton btn btn-sm btn-secondary" data-gameid="' + gamesData[i].id + '" data-gpid="'
+                        + gamesData[i].gamePlayers[0].id + '">PLAY BOT</button></td>').appendTo(row);
+                }
                 if (gamesData[i].gamePlayers.length == 1 && data.player.id != null && data.player.id != gamesData[i].gamePlayers[j].player.id) {
                     $('<td>' + gamesData[i].gamePlayers[0].player.email + '</td><td class="yellow500">WAITING FOR PLAYER</td>').appendTo(row);
                     joinButtonHtml = '<td class="textCenter"><button class="joinGameButton btn btn-info" data-gameid=' + '"' + gamesData[i].id + '"' + '>JOIN GAME</button></td>';
@@ -221,6 +236,8 @@ function showGamesTable(gamesData) {
 
 
         }
+    $('#loadMoreGames').toggle(data.next != null);
+
     $('.joinGameButton').click(function (e) {
         e.preventDefault();
 
@@ -247,79 +264,45 @@ function showGamesTable(gamesData) {
 
             });
     });
-}
-
-function getPlayers(gamesData) {
-        playersArray = [];
-        var playersIds = [];
-
-        for (var i = 0; i < gamesData.length; i++) {
-
-            for (var j = 0; j < gamesData[i].gamePlayers.length; j++) {
-                if (!playersIds.includes(gamesData[i].gamePlayers[j].player.id)) {
-                    playersIds.push(gamesData[i].gamePlayers[j].player.id);
-                    var playerScoreData = {
-                        "id": gamesData[i].gamePlayers[j].player.id,
-                        "email": gamesData[i].gamePlayers[j].player.email,
-                        "scores": [],
-                        "total": 0.0
-                    };
-                    playersArray.push(playerScoreData);
-                }
-            }
-        }
-        return playersArray;
-}
 
-function addScoresToPlayersArray(playersArray) {
-        for (var i = 0; i < gamesData.length; i++) {
-            for (var j = 0; j < gamesData[i].scores.length; j++) {
-
-                var scorePlayerId = gamesData[i].scores[j].player;
-                for (var k = 0; k < playersArray.length; k++) {
+    // un jugador: el bot ocupa el otro puesto del game
+    $('.playBotButton').click(function (e) {
+        e.preventDefault();
 
-                    if (playersArray[k].id == scorePlayerId) {
-                        if(gamesData[i].scores[j].score != null){
-                            playersArray[k].scores.push(gamesData[i].scores[j].score);
-                            playersArray[k].total += gamesData[i].scores[j].score;
-                        }
-                    }
-                }
-            }
-        }
+        var gameViewUrl = "/web/game.html?gp=" + $(this).data('gpid');
+        $.post("/api/game/" + $(this).data('gameid') + "/bot")
+            .done(function () {
+                location.href = gameViewUrl;
+            })
+            .fail(function (data) {
+                $('#errorSignup').text(data.responseJSON.error);
+                $('#errorSignup').show("slow").delay(4000).hide("slow");
+            });
+    });
 }
 
-function showScoreBoard(playersArray) {
-        playersArray.sort(function (a, b) {
-            return b.total - a.total;
+function updateScoreBoard() {
+        fetchJson('/api/leaderBoard?size=20').then(function (json) {
+            showScoreBoard(json);
+        }).catch(function (error) {
+            // do something getting JSON fails
         });
+}
 
+function showScoreBoard(leaderBoard) {
         var table = "#scoreBoard tbody";
         $(table).empty();
 
-        for (var m = 0; m < playersArray.length; m++) {
-            var countWon = 0;
-            var countLost = 0;
-            var countTied = 0;
-
-            if (playersArray[m].scores.length > 0) {
-
-                for (var n = 0; n < playersArray[m].scores.length; n++) {
-                    if (playersArray[m].scores[n] == 0.0) {
-                        countLost++;
-                    } else if (playersArray[m].scores[n] == 0.5) {
-                        countTied++;
-                    } else if (playersArray[m].scores[n] == 1.0) {
-                        countWon++;
-                    }
-                }
+        for (var m = 0; m < leaderBoard.length; m++) {
+            var score = leaderBoard[m].score;
 
+            if (score.won + score.lost + score.tied > 0) {
                 var row = $('<tr></tr>').appendTo(table);
-                $('<td>' + playersArray[m].email + '</td>').appendTo(row);
-                $("<td class='textCenter'>" + playersArray[m].total.toFixed(1) + '</td>').appendTo(row);
-                $("<td class='textCenter'>" + countWon + '</td>').appendTo(row);
-                $("<td class='textCenter'>" + countLost + '</td>').appendTo(row);
-                $("<td class='textCenter'>" + countTied + '</td>').appendTo(row);
+                $('<td>' + leaderBoard[m].email + '</td>').appendTo(row);
+                $("<td class='textCenter'>" + score.total.toFixed(1) + '</td>').appendTo(row);
+                $("<td class='textCenter'>" + score.won + '</td>').appendTo(row);
+                $("<td class='textCenter'>" + score.lost + '</td>').appendTo(row);
+                $("<td class='textCenter'>" + score.tied + '</td>').appendTo(row);
             }
         }
     }
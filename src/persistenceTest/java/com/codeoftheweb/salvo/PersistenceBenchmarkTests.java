@@ -0,0 +1,114 @@
+package com.codeoftheweb.salvo;
+
+import com.codeoftheweb.salvo.repositories.GamePlayerRepository;
+import com.codeoftheweb.salvo.repositories.GameRepository;
+import com.codeoftheweb.salvo.repositories.PlayerRepository;
+import org.junit.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/* Perfil prod sobre una base H2 en archivo: tiempo de arranque (con y sin migraciones),
+ * tiempo por consulta de las busquedas frecuentes y que cada una use su indice.
+ * Corre con ./gradlew persistenceTest, que muestra los tiempos. Los maximos son holgados:
+ * fallan con un recorrido completo o una consulta de mas, no con una maquina lenta. */
+public class PersistenceBenchmarkTests {
+
+    private static final int WARMUP = 500;
+    private static final int RUNS = 5_000;
+    private static final double MAX_MICROS_PER_QUERY = 20_000;
+
+    @Test
+    public void prodProfileKeepsDataAcrossRestartsAndQueriesUseIndexes() throws Exception {
+        File dir = Files.createTempDirectory("salvo-bench").toFile();
+        try {
+            run(dir);
+        } finally {
+            FileSystemUtils.deleteRecursively(dir);
+        }
+    }
+
+    private static void run(File dir) throws Exception {
+        String url = "jdbc:h2:file:" + dir.getAbsolutePath() + "/salvo;CACHE_SIZE=65536;WRITE_DELAY=100;DB_CLOSE_ON_EXIT=FALSE";
+
+        // primer arranque: crea el esquema (V1) y guarda los datos de prueba
+        long start = System.nanoTime();
+        long players;
+        try (ConfigurableApplicationContext context = start(dir, url)) {
+            System.out.printf("[benchmark] %-26s %10d ms%n", "startup (migrate + seed)",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            players = context.getBean(PlayerRepository.class).count();
+        }
+
+        // segundo arranque: el esquema ya esta y los datos no se vuelven a guardar
+        start = System.nanoTime();
+        try (ConfigurableApplicationContext context = start(dir, url)) {
+            System.out.printf("[benchmark] %-26s %10d ms%n", "startup (existing file)",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            assertEquals(players, context.getBean(PlayerRepository.class).count());
+
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            assertUsesIndex(jdbc, "select * from player where user_name = 'j.bauer@ctu.gov'", "IDX_PLAYER_USERNAME");
+            assertUsesIndex(jdbc, "select * from game_player where game_id = 1", "IDX_GAME_PLAYER_GAME");
+            assertUsesIndex(jdbc, "select * from game_player where player_id = 1", "IDX_GAME_PLAYER_PLAYER");
+            assertUsesIndex(jdbc, "select * from ship where game_player_id = 1", "IDX_SHIP_GAME_PLAYER");
+            assertUsesIndex(jdbc, "select * from salvo where game_player_id = 1", "IDX_SALVO_GAME_PLAYER");
+            assertUsesIndex(jdbc, "select * from score where game_player_id = 1", "IDX_SCORE_GAME");
+            assertUsesIndex(jdbc, "select * from score where player_id = 1", "IDX_SCORE_PLAYER");
+
+            PlayerRepository playerRepository = context.getBean(PlayerRepository.class);
+            GameRepository gameRepository = context.getBean(GameRepository.class);
+            GamePlayerRepository gamePlayerRepository = context.getBean(GamePlayerRepository.class);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(
+                    context.getBean(PlatformTransactionManager.class));
+
+            benchmark("player by userName", () -> playerRepository.findByUserName("j.bauer@ctu.gov"));
+            benchmark("lobby page", () -> gameRepository.findLobbyRows(gameRepository
+                    .findLobby(null, 0, null, false, null, null, PageRequest.of(0, 50)).getContent()));
+            benchmark("gamePlayer with game", () -> transactionTemplate.execute(status ->
+                    gamePlayerRepository.findWithGameById(1L).get().getGame().getGamePlayers().size()));
+        }
+    }
+
+    private static ConfigurableApplicationContext start(File dir, String url) {
+        // como argumentos: pisan a application-prod.properties
+        return new SpringApplicationBuilder(SalvoApplication.class)
+                .profiles("prod")
+                .run("--spring.datasource.url=" + url, "--salvo.turn-log.dir=" + new File(dir, "turns"),
+                        "--server.port=0", "--spring.jmx.enabled=false");
+    }
+
+    private static void assertUsesIndex(JdbcTemplate jdbc, String sql, String index) {
+        String plan = jdbc.queryForObject("explain " + sql, String.class);
+        assertTrue(plan, plan.toUpperCase().contains(index));
+    }
+
+    private static void benchmark(String name, Supplier<?> query) {
+        double micros = measure(query);
+        System.out.printf("[benchmark] %-26s %10.1f us/op%n", name, micros);
+        assertTrue(name + ": " + micros + " us/op", micros < MAX_MICROS_PER_QUERY);
+    }
+
+    private static double measure(Supplier<?> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            query.get();
+        }
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / (double) RUNS;
+    }
+}
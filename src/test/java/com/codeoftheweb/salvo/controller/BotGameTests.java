@@ -0,0 +1,93 @@
+package com.codeoftheweb.salvo.controller;
+
+import com.codeoftheweb.salvo.dto.SalvoDTO;
+import com.codeoftheweb.salvo.engine.Bitboard;
+import com.codeoftheweb.salvo.services.BotService;
+import com.codeoftheweb.salvo.services.HotGame;
+import com.codeoftheweb.salvo.services.HotGameService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BotGameTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotGameService hotGameService;
+
+    @Autowired
+    private BotService botService;
+
+    @Test
+    public void theBotJoinsAndAnswersEverySalvoUntilTheGameIsOver() throws Exception {
+        GameApi api = new GameApi(mockMvc);
+        MockHttpSession host = api.login("kim.bauer@gmail.com", "kb");
+        long hostId = api.perform(post("/api/games").session(host)).path("gpid").asLong();
+        long gameId = api.perform(get("/api/game_view/" + hostId).session(host)).path("id").asLong();
+
+        long botId = api.perform(post("/api/game/" + gameId + "/bot").session(host)).path("gpid").asLong();
+        HotGame.Seat bot = hotGameService.get(gameId).getSeat(botId);
+        assertEquals(botService.getPlayerId(), bot.getPlayerId());
+        assertEquals(5, bot.getShips().size());
+        assertEquals(403, api.call(post("/api/game/" + gameId + "/bot").session(host)).getResponse().getStatus());
+
+        api.perform(post("/api/games/players/" + hostId + "/ships").session(host)
+                .contentType(MediaType.APPLICATION_JSON).content(GameApi.SHIPS));
+
+        // el host barre la grilla de a filas; el bot responde cada salvo hasta que uno hunde la flota del otro
+        String state = "PLAY";
+        int turn = 0;
+        // el bot tiene 10 s para contestar cada salvo; 20 salvos de 5 celdas cubren la grilla
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (state.equals("PLAY") || state.equals("WAIT")) {
+            if (state.equals("PLAY")) {
+                assertTrue("the game is not over after " + turn + " turns", turn < 20);
+                String[] cells = new String[5];
+                for (int i = 0; i < cells.length; i++) {
+                    cells[i] = Bitboard.cell(turn * cells.length + i);
+                }
+                assertEquals(201, api.salvo(host, hostId, cells).getResponse().getStatus());
+                turn++;
+                deadline = System.currentTimeMillis() + 10_000;
+            } else {
+                assertTrue("the bot did not answer turn " + turn + " in 10 s", System.currentTimeMillis() < deadline);
+                Thread.sleep(5);
+            }
+            state = api.perform(get("/api/game_view/" + hostId).session(host)).path("gameState").asText();
+        }
+
+        HotGame game = hotGameService.get(gameId);
+        assertTrue(game.isFinished());
+        int botSalvoes = game.getSeat(botId).getSalvoes().size();
+        assertTrue(botSalvoes == turn || botSalvoes == turn - 1);
+
+        // el bot no repite celdas
+        Set<String> botShots = new HashSet<>();
+        int shots = 0;
+        for (SalvoDTO salvo : game.getSeat(botId).getSalvoes()) {
+            botShots.addAll(salvo.getLocations());
+            shots += salvo.getLocations().size();
+        }
+        assertEquals(shots, botShots.size());
+        assertEquals(botSalvoes * 5, shots);
+    }
+}
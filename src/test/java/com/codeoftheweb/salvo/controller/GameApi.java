@@ -0,0 +1,79 @@
+package com.codeoftheweb.salvo.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/* La API del juego por MockMvc para los tests: login, crear y unirse a un game, ships y salvos */
+class GameApi {
+
+    // 17 celdas: A1-A5, C1-C4, E1-E3, G1-G3, I1-I2
+    static final String SHIPS = "[{\"type\":\"Carrier\",\"locations\":[\"A1\",\"A2\",\"A3\",\"A4\",\"A5\"]},"
+            + "{\"type\":\"Battleship\",\"locations\":[\"C1\",\"C2\",\"C3\",\"C4\"]},"
+            + "{\"type\":\"Submarine\",\"locations\":[\"E1\",\"E2\",\"E3\"]},"
+            + "{\"type\":\"Destroyer\",\"locations\":[\"G1\",\"G2\",\"G3\"]},"
+            + "{\"type\":\"Patrol Boat\",\"locations\":[\"I1\",\"I2\"]}]";
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper json = new ObjectMapper();
+
+    GameApi(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+    }
+
+    MockHttpSession login(String email, String password) throws Exception {
+        return (MockHttpSession) mockMvc.perform(post("/api/login").param("name", email).param("pwd", password))
+                .andReturn().getRequest().getSession();
+    }
+
+    // game nuevo con los dos gamePlayers: {host, guest}
+    long[] joinGame(MockHttpSession host, MockHttpSession guest) throws Exception {
+        long hostId = perform(post("/api/games").session(host)).path("gpid").asLong();
+        long gameId = perform(get("/api/game_view/" + hostId).session(host)).path("id").asLong();
+        long guestId = perform(post("/api/game/" + gameId + "/players").session(guest)).path("gpid").asLong();
+        return new long[]{hostId, guestId};
+    }
+
+    // game con los ships de los dos puestos, listo para el primer salvo
+    long[] startGame(MockHttpSession host, MockHttpSession guest) throws Exception {
+        long[] gamePlayers = joinGame(host, guest);
+        perform(post("/api/games/players/" + gamePlayers[0] + "/ships").session(host)
+                .contentType(MediaType.APPLICATION_JSON).content(SHIPS));
+        perform(post("/api/games/players/" + gamePlayers[1] + "/ships").session(guest)
+                .contentType(MediaType.APPLICATION_JSON).content(SHIPS));
+        return gamePlayers;
+    }
+
+    MvcResult salvo(MockHttpSession session, long gamePlayerId, String... cells) throws Exception {
+        return call(post("/api/games/players/" + gamePlayerId + "/salvos").session(session)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"salvoLocations\":[\"" + String.join("\",\"", cells) + "\"]}"));
+    }
+
+    // el JSON de la respuesta, que tiene que ser 2xx
+    JsonNode perform(RequestBuilder request) throws Exception {
+        MvcResult result = call(request);
+        int status = result.getResponse().getStatus();
+        String body = result.getResponse().getContentAsString();
+        assertTrue("HTTP " + status + " " + body, status < 300);
+        return body.isEmpty() ? json.createObjectNode() : json.readTree(body);
+    }
+
+    // ships, salvos y joins responden despues del comando en el buzon del game
+    MvcResult call(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result;
+    }
+}
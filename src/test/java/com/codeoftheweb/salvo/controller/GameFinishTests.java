@@ -0,0 +1,85 @@
+package com.codeoftheweb.salvo.controller;
+
+import com.codeoftheweb.salvo.repositories.GameRepository;
+import com.codeoftheweb.salvo.repositories.ScoreRepository;
+import com.codeoftheweb.salvo.services.HotGameService;
+import com.codeoftheweb.salvo.services.LeaderBoardService;
+import com.codeoftheweb.salvo.services.PlayerCacheService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class GameFinishTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Autowired
+    private HotGameService hotGameService;
+
+    @Autowired
+    private LeaderBoardService leaderBoardService;
+
+    @Autowired
+    private PlayerCacheService playerCacheService;
+
+    @Test
+    public void theSalvoThatSinksTheFleetFinishesTheGameAndScoresItInTheBackground() throws Exception {
+        GameApi api = new GameApi(mockMvc);
+        MockHttpSession host = api.login("j.bauer@ctu.gov", "24");
+        MockHttpSession guest = api.login("t.ailmeida@ctu.gov", "mole");
+        long hostPlayer = playerCacheService.find("j.bauer@ctu.gov").getId();
+        long guestPlayer = playerCacheService.find("t.ailmeida@ctu.gov").getId();
+        long won = leaderBoardService.getStanding(hostPlayer).getWon();
+        long lost = leaderBoardService.getStanding(guestPlayer).getLost();
+
+        long[] gamePlayers = api.startGame(host, guest);
+        long gameId = hotGameService.findGameId(gamePlayers[0]);
+        String[][] hostSalvoes = {{"A1", "A2", "A3", "A4", "A5"}, {"C1", "C2", "C3", "C4", "E1"},
+                {"E2", "E3", "G1", "G2", "G3"}, {"I1", "I2", "J1", "J2", "J3"}};
+        for (int turn = 0; turn < hostSalvoes.length; turn++) {
+            assertEquals(201, api.salvo(host, gamePlayers[0], hostSalvoes[turn]).getResponse().getStatus());
+            if (turn < hostSalvoes.length - 1) {
+                assertEquals(201, api.salvo(guest, gamePlayers[1], "J" + (turn + 5)).getResponse().getStatus());
+            }
+        }
+
+        // terminado en la transaccion del salvo: el estado queda fijo
+        assertNotNull(gameRepository.findById(gameId).get().getFinishDate());
+        assertTrue(hotGameService.get(gameId).isFinished());
+        assertEquals("WON", api.perform(get("/api/game_view/" + gamePlayers[0]).session(host))
+                .path("gameState").asText());
+        assertEquals(403, api.salvo(guest, gamePlayers[1], "J9").getResponse().getStatus());
+
+        // los scores y la tabla de clasificaciones llegan despues, desde la cola de scores
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (scoreRepository.findScoredGames(Collections.singleton(gameId)).isEmpty()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(Collections.singletonList(gameId), scoreRepository.findScoredGames(Collections.singleton(gameId)));
+        assertEquals(won + 1, leaderBoardService.getStanding(hostPlayer).getWon());
+        assertEquals(lost + 1, leaderBoardService.getStanding(guestPlayer).getLost());
+    }
+}
@@ -0,0 +1,229 @@
+package com.codeoftheweb.salvo.controller;
+
+import com.codeoftheweb.salvo.models.Game;
+import com.codeoftheweb.salvo.models.GamePlayer;
+import com.codeoftheweb.salvo.models.Player;
+import com.codeoftheweb.salvo.models.Salvo;
+import com.codeoftheweb.salvo.models.Score;
+import com.codeoftheweb.salvo.models.Ship;
+import com.codeoftheweb.salvo.repositories.GamePlayerRepository;
+import com.codeoftheweb.salvo.repositories.GameRepository;
+import com.codeoftheweb.salvo.repositories.PlayerRepository;
+import com.codeoftheweb.salvo.repositories.SalvoRepository;
+import com.codeoftheweb.salvo.repositories.ScoreRepository;
+import com.codeoftheweb.salvo.repositories.ShipRepository;
+import com.codeoftheweb.salvo.services.HotGameService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/* Cuantas sentencias SQL puede ejecutar cada endpoint, con una base sembrada como la de initData
+ * pero con muchos mas games, y que ninguno tenga un N+1 (el mismo select repetido por cada fila).
+ * Si un cambio se pasa del presupuesto, el test falla con el SQL que ejecuto el endpoint. */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class QueryBudgetTests {
+
+    private static final int SEED_PLAYERS = 40;
+    private static final int SEED_GAMES = 120;
+    // un select repetido mas veces que esto es un N+1 (los lotes de batch fetch no llegan)
+    private static final int MAX_REPEATS = 2;
+    private static boolean seeded;
+
+    @TestConfiguration
+    static class CaptureConfiguration {
+
+        @Bean
+        public StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+
+        // primero: el StatementInspector de MetricsConfiguration lo envuelve
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        public HibernatePropertiesCustomizer statementCaptureCustomizer(StatementCapture statementCapture) {
+            return properties -> properties.put("hibernate.session_factory.statement_inspector", statementCapture);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatementCapture capture;
+
+    @Autowired
+    private HotGameService hotGameService;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GamePlayerRepository gamePlayerRepository;
+
+    @Autowired
+    private ShipRepository shipRepository;
+
+    @Autowired
+    private SalvoRepository salvoRepository;
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private GameApi api;
+
+    @Before
+    public void seed() {
+        api = new GameApi(mockMvc);
+        if (!seeded) {
+            new TransactionTemplate(transactionManager).execute(status -> seedGames());
+            seeded = true;
+        }
+    }
+
+    /* ======================= Presupuestos ======================= */
+
+    @Test
+    public void lobby() throws Exception {
+        MockHttpSession session = api.login("j.bauer@ctu.gov", "24");
+        capture.clear();
+        api.perform(get("/api/games").session(session));
+        assertBudget("GET /api/games", 4);
+    }
+
+    @Test
+    public void gameView() throws Exception {
+        MockHttpSession host = api.login("j.bauer@ctu.gov", "24");
+        MockHttpSession guest = api.login("t.ailmeida@ctu.gov", "mole");
+        long[] gamePlayers = api.startGame(host, guest);
+        api.perform(post("/api/games/players/" + gamePlayers[1] + "/salvos").session(guest)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"salvoLocations\":[\"A1\",\"B2\"]}"));
+
+        // sin el game en el cache: se carga de la base
+        hotGameService.evict(hotGameService.findGameId(gamePlayers[0]));
+        capture.clear();
+        api.perform(get("/api/game_view/" + gamePlayers[0]).session(host));
+        assertBudget("GET /api/game_view/{id} (not cached)", 3);
+
+        capture.clear();
+        api.perform(get("/api/game_view/" + gamePlayers[0]).session(host));
+        assertBudget("GET /api/game_view/{id}", 0);
+    }
+
+    @Test
+    public void leaderBoard() throws Exception {
+        capture.clear();
+        api.perform(get("/api/leaderBoard"));
+        assertBudget("GET /api/leaderBoard", 0);
+    }
+
+    @Test
+    public void addShips() throws Exception {
+        MockHttpSession host = api.login("j.bauer@ctu.gov", "24");
+        MockHttpSession guest = api.login("t.ailmeida@ctu.gov", "mole");
+        long[] gamePlayers = api.joinGame(host, guest);
+
+        capture.clear();
+        api.perform(post("/api/games/players/" + gamePlayers[0] + "/ships").session(host)
+                .contentType(MediaType.APPLICATION_JSON).content(GameApi.SHIPS));
+        assertBudget("POST /api/games/players/{id}/ships", 6);
+    }
+
+    @Test
+    public void addSalvoes() throws Exception {
+        MockHttpSession host = api.login("j.bauer@ctu.gov", "24");
+        MockHttpSession guest = api.login("t.ailmeida@ctu.gov", "mole");
+        long[] gamePlayers = api.startGame(host, guest);
+
+        capture.clear();
+        api.perform(post("/api/games/players/" + gamePlayers[0] + "/salvos").session(host)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"salvoLocations\":[\"A1\",\"B2\"]}"));
+        assertBudget("POST /api/games/players/{id}/salvos", 3);
+    }
+
+    /* ======================= Verificaciones ======================= */
+
+    private void assertBudget(String endpoint, int budget) {
+        List<String> statements = capture.getStatements();
+        if (statements.size() > budget) {
+            fail(endpoint + " ran " + statements.size() + " statements, budget is " + budget + ":\n"
+                    + String.join("\n", statements));
+        }
+        Map<String, Integer> repeated = capture.repeatedSelects(MAX_REPEATS);
+        assertTrue(endpoint + " repeats selects (N+1): " + repeated, repeated.isEmpty());
+    }
+
+    /* ======================= Datos ======================= */
+
+    // como initData, a escala: players con games terminados (con scores) y en juego
+    private Object seedGames() {
+        String password = passwordEncoder.encode("seed");
+        List<Player> players = new ArrayList<>(SEED_PLAYERS);
+        for (int i = 0; i < SEED_PLAYERS; i++) {
+            players.add(new Player("seed-" + i + "@salvo.test", password));
+        }
+        playerRepository.saveAll(players);
+
+        Date date = new Date();
+        for (int i = 0; i < SEED_GAMES; i++) {
+            Game game = gameRepository.save(new Game(date));
+            Player first = players.get(i % SEED_PLAYERS);
+            Player second = players.get((i + 1) % SEED_PLAYERS);
+            GamePlayer gp1 = new GamePlayer(date, game, first);
+            GamePlayer gp2 = new GamePlayer(date, game, second);
+            gamePlayerRepository.saveAll(Arrays.asList(gp1, gp2));
+
+            for (GamePlayer gamePlayer : Arrays.asList(gp1, gp2)) {
+                shipRepository.saveAll(Arrays.asList(
+                        new Ship(gamePlayer, "Destroyer", new HashSet<>(Arrays.asList("H2", "H3", "H4"))),
+                        new Ship(gamePlayer, "Submarine", new HashSet<>(Arrays.asList("E1", "F1", "G1"))),
+                        new Ship(gamePlayer, "Patrol Boat", new HashSet<>(Arrays.asList("B4", "B5")))));
+                salvoRepository.saveAll(Arrays.asList(
+                        new Salvo(1, gamePlayer, new HashSet<>(Arrays.asList("B5", "C5", "F1"))),
+                        new Salvo(2, gamePlayer, new HashSet<>(Arrays.asList("F2", "D5")))));
+            }
+            if (i % 2 == 0) {
+                scoreRepository.saveAll(Arrays.asList(new Score(game, first, 1, date),
+                        new Score(game, second, 0, date)));
+            }
+        }
+        return null;
+    }
+}
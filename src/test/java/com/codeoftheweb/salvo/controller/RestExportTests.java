@@ -0,0 +1,50 @@
+package com.codeoftheweb.salvo.controller;
+
+import com.codeoftheweb.salvo.repositories.GameRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/* Lo que Spring Data REST no tiene que publicar en /rest: datos que la API filtra por player
+ * y las consultas que escriben o que solo usa el servidor */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class RestExportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Test
+    public void archivedGamesAreNotExported() throws Exception {
+        assertEquals(404, status("/rest/archivedGames"));
+    }
+
+    @Test
+    public void internalQueriesAreNotExported() throws Exception {
+        long version = gameRepository.findById(1L).get().getVersion();
+        assertEquals(404, status("/rest/games/search/bumpVersion?id=1"));
+        assertEquals(version, gameRepository.findById(1L).get().getVersion());
+
+        String search = mockMvc.perform(get("/rest/games/search")).andReturn().getResponse().getContentAsString();
+        assertFalse(search, search.contains("findLobby"));
+        assertEquals(404, status("/rest/gamePlayers/search/findGameId?id=1"));
+        assertEquals(404, status("/rest/gamePlayers/search/countByGameId?gameId=1"));
+        assertEquals(404, status("/rest/players/search/findStandings"));
+    }
+
+    private int status(String path) throws Exception {
+        return mockMvc.perform(get(path)).andReturn().getResponse().getStatus();
+    }
+}
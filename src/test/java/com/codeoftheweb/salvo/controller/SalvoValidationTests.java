@@ -0,0 +1,76 @@
+package com.codeoftheweb.salvo.controller;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SalvoValidationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void theFirstSalvoIsValidatedToo() throws Exception {
+        GameApi api = new GameApi(mockMvc);
+        MockHttpSession host = api.login("kim.bauer@gmail.com", "kb");
+        MockHttpSession guest = api.login("c.obrian@ctu.gov", "42");
+        long[] gamePlayers = api.startGame(host, guest);
+
+        assertEquals(403, status(api.salvo(host, gamePlayers[0], "A1", "A2", "A3", "A4", "A5", "A6")));
+        assertEquals(403, status(api.salvo(host, gamePlayers[0], "A1", "K11")));
+        assertEquals(403, status(api.salvo(host, gamePlayers[0], "a1", "A1")));
+        assertEquals(403, status(api.salvo(host, gamePlayers[0])));
+        assertEquals(403, status(api.call(post("/api/games/players/" + gamePlayers[0] + "/salvos").session(host)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"turn\":2,\"salvoLocations\":[\"A1\"]}"))));
+
+        assertEquals(201, status(api.salvo(host, gamePlayers[0], "A1", "B2")));
+    }
+
+    @Test
+    public void shipsAreValidatedBeforeTheyAreSaved() throws Exception {
+        GameApi api = new GameApi(mockMvc);
+        MockHttpSession host = api.login("kim.bauer@gmail.com", "kb");
+        MockHttpSession guest = api.login("c.obrian@ctu.gov", "42");
+        long hostId = api.joinGame(host, guest)[0];
+
+        assertEquals(403, status(ships(api, host, hostId, "[{\"type\":\"Patrol Boat\",\"locations\":[\"J10\",\"K11\"]}]")));
+        assertEquals(403, status(ships(api, host, hostId, "[{\"type\":\"Canoe\",\"locations\":[\"A1\",\"A2\"]}]")));
+        assertEquals(403, status(ships(api, host, hostId, "[{\"type\":\"Destroyer\",\"locations\":[\"A1\",\"A2\"]}]")));
+        assertEquals(403, status(ships(api, host, hostId, "[{\"type\":\"Patrol Boat\",\"locations\":[\"A1\",\"A2\"]},"
+                + "{\"type\":\"Destroyer\",\"locations\":[\"A2\",\"B2\",\"C2\"]}]")));
+
+        assertEquals(201, status(ships(api, host, hostId, GameApi.SHIPS)));
+    }
+
+    @Test
+    public void anonymousRequestsAreRejectedWithoutAPlayer() throws Exception {
+        GameApi api = new GameApi(mockMvc);
+        assertEquals(401, status(api.call(post("/api/game/1/players"))));
+        assertEquals(401, status(api.call(post("/api/games/players/1/ships")
+                .contentType(MediaType.APPLICATION_JSON).content(GameApi.SHIPS))));
+    }
+
+    private static MvcResult ships(GameApi api, MockHttpSession session, long gamePlayerId, String ships)
+            throws Exception {
+        return api.call(post("/api/games/players/" + gamePlayerId + "/ships").session(session)
+                .contentType(MediaType.APPLICATION_JSON).content(ships));
+    }
+
+    private static int status(MvcResult result) {
+        return result.getResponse().getStatus();
+    }
+}
@@ -0,0 +1,57 @@
+package com.codeoftheweb.salvo.controller;
+
+import com.codeoftheweb.salvo.metrics.RequestStatistics;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/* Guarda el SQL que Hibernate ejecuta para las requests (lo que corre con RequestStatistics en el hilo:
+ * el hilo de la request y el worker del buzon que ejecuta su comando). Lo de segundo plano no cuenta. */
+class StatementCapture implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        if (RequestStatistics.current() != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    void clear() {
+        statements.clear();
+    }
+
+    List<String> getStatements() {
+        return new ArrayList<>(statements);
+    }
+
+    // selects con la misma forma (sin valores ni largo de las listas de in) ejecutados mas de max veces
+    Map<String, Integer> repeatedSelects(int max) {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (String sql : statements) {
+            String shape = shape(sql);
+            if (shape.startsWith("select")) {
+                counts.merge(shape, 1, Integer::sum);
+            }
+        }
+        counts.values().removeIf(count -> count <= max);
+        return counts;
+    }
+
+    private static String shape(String sql) {
+        return sql.toLowerCase()
+                .replaceAll("\\s+", " ")
+                .replaceAll("'[^']*'", "?")
+                .replaceAll("\\b\\d+\\b", "?")
+                .replaceAll("in \\(\\?(, ?\\?)*\\)", "in (?)")
+                .trim();
+    }
+}
@@ -0,0 +1,58 @@
+package com.codeoftheweb.salvo.engine;
+
+import com.codeoftheweb.salvo.models.GamePlayer;
+import com.codeoftheweb.salvo.models.Salvo;
+import com.codeoftheweb.salvo.models.Ship;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+public class CombatStateTests {
+
+    @Test
+    public void firingMatchesRebuildFromHistory() {
+        GamePlayer self = gamePlayer(1L, new Ship(null, "destroyer", cells("H2", "H3", "H4")));
+        GamePlayer opponent = gamePlayer(2L, new Ship(null, "patrolboat", cells("B4", "B5")));
+        Salvo first = new Salvo(1, self, cells("B4", "A1"));
+        Salvo second = new Salvo(2, self, cells("B5", "J9"));
+
+        self.getSalvos().add(first);
+        CombatState incremental = CombatState.of(self, opponent).fire(second);
+        self.getSalvos().add(second);
+        CombatState rebuilt = CombatState.of(self, opponent);
+
+        assertEquals(rebuilt.getSalvoes(), incremental.getSalvoes());
+        assertEquals(rebuilt.getDamageDealt(), incremental.getDamageDealt());
+        assertEquals(2, incremental.getDamage(ShipType.PATROLBOAT));
+        assertEquals(Arrays.asList(ShipType.PATROLBOAT), incremental.getSunk());
+        assertEquals(rebuilt.getTurns().get(1).getHits(), incremental.getTurns().get(1).getHits());
+    }
+
+    @Test
+    public void stateFollowsTurns() {
+        GamePlayer self = gamePlayer(1L, new Ship(null, "destroyer", cells("H2", "H3", "H4")));
+        GamePlayer opponent = gamePlayer(2L, new Ship(null, "patrolboat", cells("B4", "B5")));
+
+        CombatState selfState = CombatState.of(self, opponent).fire(new Salvo(1, self, cells("A1")));
+        CombatState oppState = CombatState.of(opponent, self);
+
+        assertEquals(GameState.WAIT, CombatState.stateOf(selfState, oppState));
+        assertEquals(GameState.PLAY, CombatState.stateOf(oppState, selfState));
+        assertEquals(GameState.WAITINGFOROPP, CombatState.stateOf(CombatState.of(self, null), null));
+    }
+
+    private static GamePlayer gamePlayer(long id, Ship... ships) {
+        GamePlayer gamePlayer = new GamePlayer(null, null);
+        gamePlayer.setId(id);
+        gamePlayer.setShips(new HashSet<>(Arrays.asList(ships)));
+        gamePlayer.setSalvos(new HashSet<>());
+        return gamePlayer;
+    }
+
+    private static HashSet<String> cells(String... cells) {
+        return new HashSet<>(Arrays.asList(cells));
+    }
+}
@@ -0,0 +1,54 @@
+package com.codeoftheweb.salvo.engine;
+
+import com.codeoftheweb.salvo.models.Salvo;
+import com.codeoftheweb.salvo.models.Ship;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HitResolverTests {
+
+    @Test
+    public void cellsRoundTrip() {
+        for (int i = 0; i < Bitboard.CELLS; i++) {
+            assertEquals(i, Bitboard.index(Bitboard.cell(i)));
+        }
+        assertEquals(-1, Bitboard.index("K1"));
+        assertEquals(-1, Bitboard.index("A11"));
+        assertEquals(Arrays.asList("A1", "J10"), Bitboard.of(Arrays.asList("J10", "A1", "Z9")).toLocations());
+    }
+
+    @Test
+    public void resolvesHitsDamageAndSunk() {
+        Fleet fleet = Fleet.of(Arrays.asList(
+                new Ship(null, "destroyer", new HashSet<>(Arrays.asList("H2", "H3", "H4"))),
+                new Ship(null, "Patrol Boat", new HashSet<>(Arrays.asList("B4", "B5")))));
+
+        List<TurnResult> results = HitResolver.resolve(fleet, Arrays.asList(
+                new Salvo(2, null, new HashSet<>(Arrays.asList("B5", "H3", "J9"))),
+                new Salvo(1, null, new HashSet<>(Arrays.asList("B4", "A1")))));
+
+        assertEquals(1, results.get(0).getTurn());
+        assertEquals(1, results.get(0).getHits(ShipType.PATROLBOAT));
+        assertEquals(1, results.get(0).getMissed());
+        assertTrue(results.get(0).getSunk().isEmpty());
+
+        assertEquals(Arrays.asList("B5", "H3"), results.get(1).getHits().toLocations());
+        assertEquals(2, results.get(1).getDamage(ShipType.PATROLBOAT));
+        assertEquals(1, results.get(1).getDamage(ShipType.DESTROYER));
+        assertEquals(Arrays.asList(ShipType.PATROLBOAT), results.get(1).getSunk());
+    }
+
+    @Test
+    public void detectsEndOfGame() {
+        assertEquals(GameState.PLAY, GameState.of(true, true, true, 3, 3, 10, 16));
+        assertEquals(GameState.WAIT, GameState.of(true, true, true, 4, 3, 10, 16));
+        assertEquals(GameState.WON, GameState.of(true, true, true, 4, 4, 10, HitResolver.TOTAL_SHIP));
+        assertEquals(GameState.TIE, GameState.of(true, true, true, 4, 4, HitResolver.TOTAL_SHIP, HitResolver.TOTAL_SHIP));
+        assertEquals(GameState.LOST, GameState.of(true, true, true, 4, 4, HitResolver.TOTAL_SHIP, 3));
+    }
+}
@@ -0,0 +1,83 @@
+package com.codeoftheweb.salvo.engine;
+
+import com.codeoftheweb.salvo.models.GamePlayer;
+import com.codeoftheweb.salvo.models.Salvo;
+import com.codeoftheweb.salvo.models.Ship;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TargetingTests {
+
+    @Test
+    public void firesFullSalvoesAtCellsNotShotYet() {
+        GamePlayer self = gamePlayer(1L);
+        GamePlayer opponent = gamePlayer(2L, new Ship(null, "carrier", cells("A1", "A2", "A3", "A4", "A5")));
+        Targeting targeting = new Targeting();
+
+        CombatState state = CombatState.of(self, opponent);
+        Bitboard shots = Bitboard.EMPTY;
+        for (int turn = 1; turn <= Bitboard.CELLS / Targeting.SALVO_SIZE; turn++) {
+            assertEquals(Targeting.SALVO_SIZE, targeting.aim(state));
+            Bitboard salvo = targeting.getSalvo();
+            assertFalse(salvo.intersects(shots));
+            shots = shots.or(salvo);
+            state = state.fire(new Salvo(turn, self, new HashSet<>(salvo.toLocations())));
+        }
+        assertEquals(0, targeting.aim(state));
+    }
+
+    @Test
+    public void aimsAlongAnOpenHit() {
+        GamePlayer self = gamePlayer(1L);
+        GamePlayer opponent = gamePlayer(2L, new Ship(null, "destroyer", cells("H2", "H3", "H4")));
+        // H3 impacto; agua arriba y abajo: el destroyer esta acostado
+        CombatState state = CombatState.of(self, opponent).fire(new Salvo(1, self, cells("H3", "G3", "I3")));
+
+        Targeting targeting = new Targeting();
+        targeting.aim(state);
+        assertTrue(targeting.getSalvo().toLocations().containsAll(Arrays.asList("H2", "H4")));
+    }
+
+    @Test
+    public void sinksRandomFleetsWellBeforeSweepingTheGrid() {
+        Random random = new Random(7);
+        Targeting targeting = new Targeting();
+        int totalTurns = 0;
+        for (int game = 0; game < 50; game++) {
+            Bitboard[] fleet = Targeting.randomFleet(random);
+            Ship[] ships = new Ship[fleet.length];
+            for (ShipType type : ShipType.values()) {
+                ships[type.ordinal()] = new Ship(null, type.getName(), new HashSet<>(fleet[type.ordinal()].toLocations()));
+            }
+            GamePlayer self = gamePlayer(1L);
+            CombatState state = CombatState.of(self, gamePlayer(2L, ships));
+            assertEquals(HitResolver.TOTAL_SHIP, Fleet.of(Arrays.asList(ships)).getAll().count());
+
+            int turn = 0;
+            while (!HitResolver.isFleetDestroyed(state.getDamageDealt())) {
+                targeting.aim(state);
+                state = state.fire(new Salvo(++turn, self, new HashSet<>(targeting.getSalvo().toLocations())));
+            }
+            totalTurns += turn;
+        }
+        // barrer la grilla lleva 20 turnos
+        assertTrue("average turns " + totalTurns / 50.0, totalTurns / 50.0 < 12);
+    }
+
+    private static GamePlayer gamePlayer(long id, Ship... ships) {
+        GamePlayer gamePlayer = new GamePlayer(null, null);
+        gamePlayer.setId(id);
+        gamePlayer.setShips(new HashSet<>(Arrays.asList(ships)));
+        gamePlayer.setSalvos(new HashSet<>());
+        return gamePlayer;
+    }
+
+    private static HashSet<String> cells(String... cells) {
+        return new HashSet<>(Arrays.asList(cells));
+    }
+}
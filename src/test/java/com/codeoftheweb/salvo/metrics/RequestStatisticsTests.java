@@ -0,0 +1,66 @@
+package com.codeoftheweb.salvo.metrics;
+
+import com.codeoftheweb.salvo.repositories.GameRepository;
+import com.codeoftheweb.salvo.services.GameCommandService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class RequestStatisticsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private GameCommandService gameCommandService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Test
+    public void recordsStatementsPerEndpointAndExposesThemToPrometheus() throws Exception {
+        mockMvc.perform(get("/api/games")).andExpect(status().isOk());
+
+        DistributionSummary statements = registry.find("salvo.request.statements")
+                .tags("method", "GET", "uri", "/api/games")
+                .summary();
+        assertNotNull(statements);
+        assertTrue(statements.count() >= 1);
+        assertTrue(statements.totalAmount() >= 1);
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("salvo_request_statements_count")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections")));
+    }
+
+    @Test
+    public void commandsCountForTheRequestThatSubmittedThem() {
+        RequestStatistics statistics = new RequestStatistics();
+        long gameId = gameRepository.findAll().get(0).getId();
+
+        RequestStatistics.with(statistics, () -> gameCommandService.submit(gameId, gameRepository::count).join());
+
+        assertTrue(statistics.getStatements() >= 1);
+    }
+}
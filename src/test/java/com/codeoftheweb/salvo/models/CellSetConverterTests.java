@@ -0,0 +1,26 @@
+package com.codeoftheweb.salvo.models;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+import static org.junit.Assert.assertEquals;
+
+public class CellSetConverterTests {
+
+    private final CellSetConverter converter = new CellSetConverter();
+
+    @Test
+    public void cellsRoundTripInGridOrder() {
+        byte[] bytes = converter.convertToDatabaseColumn(new LinkedHashSet<>(Arrays.asList("J10", "A1", "C5")));
+        assertEquals(CellSetConverter.BYTES, bytes.length);
+        assertEquals(Arrays.asList("A1", "C5", "J10"), new ArrayList<>(converter.convertToEntityAttribute(bytes)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aCellOffTheGridIsRejected() {
+        converter.convertToDatabaseColumn(new LinkedHashSet<>(Arrays.asList("A1", "K11")));
+    }
+}
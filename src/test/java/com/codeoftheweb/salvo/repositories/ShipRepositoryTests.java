@@ -0,0 +1,91 @@
+package com.codeoftheweb.salvo.repositories;
+
+import com.codeoftheweb.salvo.models.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ShipRepositoryTests {
+
+    @Autowired
+    private ShipRepository shipRepository;
+
+    @Autowired
+    private SalvoRepository salvoRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GamePlayerRepository gamePlayerRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Una flota de 5 ships (17 locations) se guarda con un solo insert en batch
+    @Test
+    public void fleetIsSavedWithBatchedInserts() {
+        Player player = playerRepository.save(new Player("fleet@test", "x"));
+        Game game = gameRepository.save(new Game(new Date()));
+        GamePlayer gamePlayer = gamePlayerRepository.save(new GamePlayer(game, player));
+
+        List<Ship> fleet = Arrays.asList(
+                new Ship(gamePlayer, "Carrier", locations("A1", "A2", "A3", "A4", "A5")),
+                new Ship(gamePlayer, "Battleship", locations("C1", "C2", "C3", "C4")),
+                new Ship(gamePlayer, "Submarine", locations("E1", "E2", "E3")),
+                new Ship(gamePlayer, "Destroyer", locations("G1", "G2", "G3")),
+                new Ship(gamePlayer, "Patrol Boat", locations("I1", "I2")));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        transactionTemplate.execute(status -> shipRepository.saveAll(fleet));
+
+        assertEquals(5, statistics.getEntityInsertCount());
+        // como mucho: siguiente bloque de ids e insert de ships (las locations van en la misma fila)
+        assertTrue("statements: " + statistics.getPrepareStatementCount(), statistics.getPrepareStatementCount() <= 2);
+    }
+
+    // Los salvos de varios turnos guardados juntos tambien van en batch, con ids de la secuencia pooled
+    @Test
+    public void salvoesAreSavedWithBatchedInserts() {
+        Player player = playerRepository.save(new Player("salvoes@test", "x"));
+        Game game = gameRepository.save(new Game(new Date()));
+        GamePlayer gamePlayer = gamePlayerRepository.save(new GamePlayer(game, player));
+
+        List<Salvo> salvoes = new ArrayList<>();
+        for (int turn = 1; turn <= 10; turn++) {
+            salvoes.add(new Salvo(turn, gamePlayer, locations("A" + turn, "B" + turn)));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        transactionTemplate.execute(status -> salvoRepository.saveAll(salvoes));
+
+        assertEquals(10, statistics.getEntityInsertCount());
+        // como mucho: siguiente bloque de ids e insert de salvos
+        assertTrue("statements: " + statistics.getPrepareStatementCount(), statistics.getPrepareStatementCount() <= 2);
+    }
+
+    private static Set<String> locations(String... cells) {
+        return new HashSet<>(Arrays.asList(cells));
+    }
+}
@@ -0,0 +1,92 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.models.*;
+import com.codeoftheweb.salvo.repositories.*;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class GameArchiveServiceTests {
+
+    // los games terminados de los demas tests (y los de prueba) son de hoy: no se archivan
+    private static final Date FINISHED = new Date(946_684_800_000L); // 2000-01-01
+    private static final Date BEFORE = new Date(FINISHED.getTime() + 1000);
+
+    @Autowired
+    private GameArchiveService gameArchiveService;
+
+    @Autowired
+    private LeaderBoardService leaderBoardService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GamePlayerRepository gamePlayerRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private ShipRepository shipRepository;
+
+    @Autowired
+    private SalvoRepository salvoRepository;
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Autowired
+    private ArchivedGameRepository archivedGameRepository;
+
+    @Test
+    public void finishedGamesMoveToTheArchiveAndKeepTheirScores() {
+        Player winner = playerRepository.save(new Player("archive-1@test", "x"));
+        Player loser = playerRepository.save(new Player("archive-2@test", "x"));
+        Game game = gameRepository.save(new Game(new Date()));
+        GamePlayer first = gamePlayerRepository.save(new GamePlayer(game, winner));
+        GamePlayer second = gamePlayerRepository.save(new GamePlayer(game, loser));
+        shipRepository.save(new Ship(second, "Patrol Boat", cells("C1", "C2")));
+        salvoRepository.save(new Salvo(1, first, cells("C1", "C2")));
+        scoreRepository.save(finished(new Score(game, winner, 1, FINISHED)));
+        scoreRepository.save(finished(new Score(game, loser, 0, FINISHED)));
+
+        assertEquals(1, gameArchiveService.archiveFinishedBefore(BEFORE));
+
+        assertFalse(gameRepository.existsById(game.getId()));
+        assertFalse(gamePlayerRepository.existsById(first.getId()));
+        ArchivedGame archived = archivedGameRepository.findById(game.getId()).get();
+        assertEquals(Long.valueOf(winner.getId()), archived.getFirstPlayerId());
+        assertEquals(Double.valueOf(1), archived.getFirstScore());
+        assertEquals(Long.valueOf(loser.getId()), archived.getSecondPlayerId());
+        assertEquals(Double.valueOf(0), archived.getSecondScore());
+        assertTrue(archived.getData(), archived.getData().contains("\"locations\":[\"C1\",\"C2\"]"));
+
+        // nada mas para archivar, y la tabla de clasificaciones recargada sigue contando el game
+        assertEquals(0, gameArchiveService.archiveFinishedBefore(BEFORE));
+        leaderBoardService.load();
+        assertEquals(1, leaderBoardService.getStanding(winner.getId()).getWon());
+        assertEquals(1, leaderBoardService.getStanding(loser.getId()).getLost());
+    }
+
+    private static Score finished(Score score) {
+        score.setFinishDate(FINISHED);
+        return score;
+    }
+
+    private static LinkedHashSet<String> cells(String... cells) {
+        return new LinkedHashSet<>(Arrays.asList(cells));
+    }
+}
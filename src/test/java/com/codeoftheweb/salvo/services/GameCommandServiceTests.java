@@ -0,0 +1,75 @@
+package com.codeoftheweb.salvo.services;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class GameCommandServiceTests {
+
+    private static final int GAMES = 4;
+    private static final int COMMANDS = 200;
+
+    @Autowired
+    private GameCommandService gameCommandService;
+
+    @Test
+    public void commandsOfAGameRunOneAtATimeInOrder() throws Exception {
+        List<List<Integer>> executed = new ArrayList<>();
+        AtomicInteger[] running = new AtomicInteger[GAMES];
+        AtomicInteger overlaps = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        for (int game = 0; game < GAMES; game++) {
+            executed.add(new ArrayList<>());
+            running[game] = new AtomicInteger();
+        }
+        for (int command = 0; command < COMMANDS; command++) {
+            for (int game = 0; game < GAMES; game++) {
+                int g = game;
+                int c = command;
+                futures.add(gameCommandService.submit(-1000L - game, () -> {
+                    if (running[g].incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    executed.get(g).add(c); // sin sincronizar: un solo escritor por game
+                    running[g].decrementAndGet();
+                    return c;
+                }));
+            }
+        }
+        for (CompletableFuture<Integer> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        assertEquals(0, overlaps.get());
+        for (List<Integer> commands : executed) {
+            assertEquals(COMMANDS, commands.size());
+            for (int i = 0; i < COMMANDS; i++) {
+                assertEquals(i, (int) commands.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void aFailedCommandDoesNotBlockTheNextOne() throws Exception {
+        CompletableFuture<Object> failed = gameCommandService.submit(-2000L, () -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<String> next = gameCommandService.submit(-2000L, () -> "ok");
+
+        assertEquals("ok", next.get(30, TimeUnit.SECONDS));
+        assertEquals(true, failed.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,75 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.models.Game;
+import com.codeoftheweb.salvo.models.Player;
+import com.codeoftheweb.salvo.repositories.GamePlayerRepository;
+import com.codeoftheweb.salvo.repositories.GameRepository;
+import com.codeoftheweb.salvo.repositories.PlayerRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class GameSeatServiceTests {
+
+    private static final int JOINS = 16;
+
+    @Autowired
+    private GameSeatService gameSeatService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GamePlayerRepository gamePlayerRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Test
+    public void concurrentJoinsFillAtMostTwoSeats() throws Exception {
+        for (int round = 0; round < 5; round++) {
+            Game game = gameRepository.save(new Game(new Date()));
+            List<Long> players = new ArrayList<>();
+            for (int i = 0; i < JOINS; i++) {
+                players.add(playerRepository.save(new Player("seat-" + round + "-" + i + "@test", "x")).getId());
+            }
+
+            ExecutorService pool = Executors.newFixedThreadPool(JOINS);
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger joined = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>();
+            for (long playerId : players) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        gameSeatService.claimSeat(game.getId(), playerId);
+                        joined.incrementAndGet();
+                    } catch (GameSeatService.SeatUnavailableException e) {
+                        // lleno u ocupado: no ocupa asiento
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            pool.shutdown();
+
+            assertEquals(GameSeatService.SEATS, gamePlayerRepository.countByGameId(game.getId()));
+            assertEquals(GameSeatService.SEATS, joined.get());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.models.Game;
+import com.codeoftheweb.salvo.models.GamePlayer;
+import com.codeoftheweb.salvo.models.Player;
+import com.codeoftheweb.salvo.models.Salvo;
+import com.codeoftheweb.salvo.models.Ship;
+import com.codeoftheweb.salvo.repositories.GamePlayerRepository;
+import com.codeoftheweb.salvo.repositories.GameRepository;
+import com.codeoftheweb.salvo.repositories.PlayerRepository;
+import com.codeoftheweb.salvo.repositories.SalvoRepository;
+import com.codeoftheweb.salvo.repositories.ShipRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class HotGameServiceTests {
+
+    @Autowired
+    private HotGameService hotGameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GamePlayerRepository gamePlayerRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private ShipRepository shipRepository;
+
+    @Autowired
+    private SalvoRepository salvoRepository;
+
+    @Test
+    public void aSalvoUpdatesTheCachedGameWithoutReloadingIt() {
+        GamePlayer[] gamePlayers = newGame("hot-salvo");
+        long gameId = gamePlayers[0].getGame().getId();
+        HotGame loaded = hotGameService.get(gameId);
+
+        Salvo salvo = salvoRepository.save(new Salvo(1, gamePlayers[0], cells("A1", "A2")));
+        gameRepository.bumpVersion(gameId);
+        hotGameService.salvoFired(gameId, gamePlayers[0].getId(), salvo, loaded.getVersion() + 1);
+
+        HotGame fired = hotGameService.get(gameId);
+        assertEquals(loaded.getVersion() + 1, fired.getVersion());
+        assertEquals(1, fired.getSeat(gamePlayers[0].getId()).getSalvoes().size());
+        assertEquals(2, fired.getSeat(gamePlayers[0].getId()).getState().getDamageDealt());
+        assertSame(fired, hotGameService.findByGamePlayer(gamePlayers[1].getId()));
+    }
+
+    @Test
+    public void aSalvoOnAStaleGameDropsItAndTheNextReadReloads() {
+        GamePlayer[] gamePlayers = newGame("hot-stale");
+        long gameId = gamePlayers[0].getGame().getId();
+        HotGame loaded = hotGameService.get(gameId);
+
+        // otro cambio subio la version sin pasar por el cache
+        gameRepository.bumpVersion(gameId);
+        Salvo salvo = salvoRepository.save(new Salvo(1, gamePlayers[0], cells("A1")));
+        gameRepository.bumpVersion(gameId);
+        hotGameService.salvoFired(gameId, gamePlayers[0].getId(), salvo, loaded.getVersion() + 2);
+
+        HotGame reloaded = hotGameService.get(gameId);
+        assertNotSame(loaded, reloaded);
+        assertEquals(loaded.getVersion() + 2, reloaded.getVersion());
+        assertEquals(1, reloaded.getSeat(gamePlayers[0].getId()).getSalvoes().size());
+    }
+
+    @Test
+    public void anOlderGameDoesNotReplaceANewerOne() {
+        GamePlayer[] gamePlayers = newGame("hot-older");
+        long gameId = gamePlayers[0].getGame().getId();
+        HotGame loaded = hotGameService.get(gameId);
+
+        gameRepository.bumpVersion(gameId);
+        hotGameService.evict(gameId);
+        HotGame newer = hotGameService.get(gameId);
+
+        assertSame(newer, hotGameService.put(loaded));
+        assertEquals(loaded.getVersion() + 1, hotGameService.get(gameId).getVersion());
+    }
+
+    // game con dos gamePlayers y un destructor en A1-A3 del segundo
+    private GamePlayer[] newGame(String name) {
+        Game game = gameRepository.save(new Game(new Date()));
+        GamePlayer first = gamePlayerRepository.save(new GamePlayer(game,
+                playerRepository.save(new Player(name + "-1@test", "x"))));
+        GamePlayer second = gamePlayerRepository.save(new GamePlayer(game,
+                playerRepository.save(new Player(name + "-2@test", "x"))));
+        shipRepository.save(new Ship(first, "Patrol Boat", cells("J1", "J2")));
+        shipRepository.save(new Ship(second, "Destroyer", cells("A1", "A2", "A3")));
+        return new GamePlayer[]{first, second};
+    }
+
+    private static LinkedHashSet<String> cells(String... cells) {
+        return new LinkedHashSet<>(Arrays.asList(cells));
+    }
+}
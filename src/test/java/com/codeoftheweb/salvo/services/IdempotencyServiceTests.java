@@ -0,0 +1,38 @@
+package com.codeoftheweb.salvo.services;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class IdempotencyServiceTests {
+
+    private final IdempotencyService idempotencyService = new IdempotencyService();
+    private final AtomicInteger executed = new AtomicInteger();
+
+    @Test
+    public void aRetryGetsTheOriginalResultOnlyForTheSameRequest() throws Exception {
+        String path = "/api/games/players/1/salvos";
+        assertEquals(1, execute(path, "1/[A1]"));
+        assertEquals(1, execute(path, "1/[A1]"));
+        assertEquals(1, executed.get());
+
+        // la misma clave en otro endpoint es otro pedido
+        assertEquals(2, execute("/api/games/players/1/ships", "1/[A1]"));
+
+        try {
+            execute(path, "1/[B2]");
+            fail("key reused with a different payload");
+        } catch (IdempotencyService.KeyReusedException e) {
+            assertEquals(2, executed.get());
+        }
+    }
+
+    private int execute(String path, String payload) throws Exception {
+        return idempotencyService.execute("kim.bauer@gmail.com", "POST", path, "key-1", payload,
+                () -> CompletableFuture.completedFuture(executed.incrementAndGet())).get();
+    }
+}
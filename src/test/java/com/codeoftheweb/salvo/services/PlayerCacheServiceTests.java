@@ -0,0 +1,34 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.models.Player;
+import com.codeoftheweb.salvo.repositories.PlayerRepository;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class PlayerCacheServiceTests {
+
+    @Test
+    public void aLoadRacingAnInvalidateIsNotCached() {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        PlayerCacheService playerCacheService = new PlayerCacheService();
+        ReflectionTestUtils.setField(playerCacheService, "playerRepository", playerRepository);
+
+        Player stale = new Player("kim.bauer@gmail.com", "old");
+        stale.setId(1L);
+        Player current = new Player("kim.bauer@gmail.com", "new");
+        current.setId(1L);
+        // el player cambia (y se invalida) mientras se lee de la base
+        when(playerRepository.findByUserName("kim.bauer@gmail.com")).thenAnswer(invocation -> {
+            playerCacheService.invalidate(1L, "kim.bauer@gmail.com");
+            return stale;
+        }).thenReturn(current);
+
+        assertEquals("old", playerCacheService.find("kim.bauer@gmail.com").getPassword());
+        assertEquals("new", playerCacheService.find("kim.bauer@gmail.com").getPassword());
+        assertEquals("new", playerCacheService.find("kim.bauer@gmail.com").getPassword());
+        verify(playerRepository, times(2)).findByUserName("kim.bauer@gmail.com");
+    }
+}
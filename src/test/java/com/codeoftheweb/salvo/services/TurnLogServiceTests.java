@@ -0,0 +1,179 @@
+package com.codeoftheweb.salvo.services;
+
+import com.codeoftheweb.salvo.dto.SalvoDTO;
+import com.codeoftheweb.salvo.dto.ShipDTO;
+import com.codeoftheweb.salvo.engine.Bitboard;
+import com.codeoftheweb.salvo.models.Game;
+import com.codeoftheweb.salvo.models.GamePlayer;
+import com.codeoftheweb.salvo.models.Player;
+import com.codeoftheweb.salvo.models.Salvo;
+import com.codeoftheweb.salvo.models.Ship;
+import com.codeoftheweb.salvo.repositories.GamePlayerRepository;
+import com.codeoftheweb.salvo.repositories.GameRepository;
+import com.codeoftheweb.salvo.repositories.PlayerRepository;
+import com.codeoftheweb.salvo.repositories.SalvoRepository;
+import com.codeoftheweb.salvo.repositories.ShipRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class TurnLogServiceTests {
+
+    @Autowired
+    private TurnLogService turnLogService;
+
+    @Autowired
+    private HotGameService hotGameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GamePlayerRepository gamePlayerRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private ShipRepository shipRepository;
+
+    @Autowired
+    private SalvoRepository salvoRepository;
+
+    @Value("${salvo.turn-log.dir}")
+    private String dir;
+
+    @Test
+    public void aRecordWrittenAfterTheLastCountIsIgnoredOnReopen() throws Exception {
+        Path file = Files.createTempFile("turn-log", ".log");
+        try (TurnLog log = TurnLog.open(file, true)) {
+            log.append(TurnLog.Entry.created(1, 1000));
+            log.append(TurnLog.Entry.salvo(2, 7, 1, Bitboard.of(cells("A1", "J10"))));
+        }
+
+        // un registro a medio escribir: los bytes llegaron al archivo pero la cantidad no
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(TurnLog.HEADER + 2 * TurnLog.RECORD);
+            raw.write(new byte[]{TurnLog.SALVO, 0, 2, 0, 3});
+        }
+
+        try (TurnLog log = TurnLog.open(file, false)) {
+            List<TurnLog.Entry> entries = log.read();
+            assertEquals(2, entries.size());
+            assertEquals(TurnLog.SALVO, entries.get(1).getType());
+            assertEquals(7, entries.get(1).getGamePlayerId());
+            assertEquals(Arrays.asList("A1", "J10"), entries.get(1).getCells().toLocations());
+
+            // se sigue escribiendo encima del registro roto
+            log.append(TurnLog.Entry.salvo(3, 8, 1, Bitboard.of(cells("B2"))));
+            assertEquals(3, log.read().size());
+            assertEquals(8, log.read().get(2).getGamePlayerId());
+        }
+        Files.delete(file);
+    }
+
+    @Test
+    public void replayRebuildsTheSameGameAsTheDatabase() {
+        Game game = gameRepository.save(new Game(new Date()));
+        GamePlayer first = gamePlayerRepository.save(new GamePlayer(game,
+                playerRepository.save(new Player("turn-log-1@test", "x"))));
+        GamePlayer second = gamePlayerRepository.save(new GamePlayer(game,
+                playerRepository.save(new Player("turn-log-2@test", "x"))));
+        turnLogService.gameCreated(game.getId(), 1, game.getCreationDate());
+        turnLogService.gamePlayerJoined(game.getId(), 1, first.getId(), first.getPlayer().getId(), first.getJoinDate());
+        turnLogService.gamePlayerJoined(game.getId(), 2, second.getId(), second.getPlayer().getId(),
+                second.getJoinDate());
+
+        List<Ship> firstShips = shipRepository.saveAll(Collections.singletonList(
+                new Ship(first, "Patrol Boat", cells("J1", "J2"))));
+        turnLogService.shipsPlaced(game.getId(), 3, first.getId(), firstShips);
+        List<Ship> secondShips = shipRepository.saveAll(Collections.singletonList(
+                new Ship(second, "Destroyer", cells("A1", "A2", "A3"))));
+        turnLogService.shipsPlaced(game.getId(), 4, second.getId(), secondShips);
+        turnLogService.salvoFired(game.getId(), 5, first.getId(),
+                salvoRepository.save(new Salvo(1, first, cells("A1", "A2", "C5"))));
+        turnLogService.salvoFired(game.getId(), 6, second.getId(),
+                salvoRepository.save(new Salvo(1, second, cells("J1"))));
+
+        HotGame replayed = turnLogService.replay(game.getId());
+        HotGame loaded = hotGameService.get(game.getId());
+
+        assertEquals(6, replayed.getVersion());
+        assertEquals(loaded.getCreated().getTime(), replayed.getCreated().getTime());
+        for (GamePlayer gamePlayer : Arrays.asList(first, second)) {
+            HotGame.Seat expected = loaded.getSeat(gamePlayer.getId());
+            HotGame.Seat actual = replayed.getSeat(gamePlayer.getId());
+            assertEquals(expected.getGamePlayer().getPlayer().getEmail(), actual.getGamePlayer().getPlayer().getEmail());
+            assertEquals(expected.getGamePlayer().getJoinDate().getTime(), actual.getGamePlayer().getJoinDate().getTime());
+            assertEquals(ships(expected), ships(actual));
+            assertEquals(salvoes(expected), salvoes(actual));
+            assertEquals(expected.getState().getDamageDealt(), actual.getState().getDamageDealt());
+        }
+
+        // archivado: el log se borra
+        turnLogService.delete(game.getId());
+        assertNull(turnLogService.replay(game.getId()));
+    }
+
+    @Test
+    public void aLogLeftByAnotherRunIsDeletedInsteadOfAppendedTo() throws Exception {
+        Game game = gameRepository.save(new Game(new Date()));
+        // mismo id de game, otra corrida: el create tiene otra fecha de creacion
+        Path file = Paths.get(dir, "game-" + game.getId() + ".log");
+        try (TurnLog log = TurnLog.open(file, true)) {
+            log.append(TurnLog.Entry.created(1, game.getCreationDate().getTime() - 60_000));
+            log.append(TurnLog.Entry.salvo(2, 7, 1, Bitboard.of(cells("A1"))));
+        }
+
+        turnLogService.salvoFired(game.getId(), 1, 1, new Salvo(1, null, cells("B2")));
+        assertFalse(Files.exists(file));
+        assertEquals(0, turnLogService.read(game.getId()).size());
+        assertNull(turnLogService.replay(game.getId()));
+    }
+
+    @Test
+    public void aGameWithoutItsCreateIsNotLogged() {
+        turnLogService.salvoFired(Long.MAX_VALUE, 1, 1, new Salvo(1, null, cells("A1")));
+        assertEquals(0, turnLogService.read(Long.MAX_VALUE).size());
+    }
+
+    private static List<String> ships(HotGame.Seat seat) {
+        List<String> ships = new ArrayList<>();
+        for (ShipDTO ship : seat.getShips()) {
+            ships.add(ship.getType() + ship.getLocations());
+        }
+        return ships;
+    }
+
+    private static List<String> salvoes(HotGame.Seat seat) {
+        List<String> salvoes = new ArrayList<>();
+        for (SalvoDTO salvo : seat.getSalvoes()) {
+            salvoes.add(salvo.getTurn() + "/" + salvo.getPlayer() + salvo.getLocations());
+        }
+        return salvoes;
+    }
+
+    private static LinkedHashSet<String> cells(String... cells) {
+        return new LinkedHashSet<>(Arrays.asList(cells));
+    }
+}